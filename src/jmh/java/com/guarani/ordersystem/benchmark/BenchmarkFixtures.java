@@ -0,0 +1,85 @@
+package com.guarani.ordersystem.benchmark;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.OrderItem;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.entity.enums.PaymentMethod;
+import com.guarani.ordersystem.entity.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Massa de dados determinística compartilhada pelos benchmarks
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+        // Utility class
+    }
+
+    public static Order order(long id, int itemCount) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("cliente@guarani.com");
+        user.setName("Cliente Benchmark");
+
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.APPROVED);
+        order.setPaymentMethod(PaymentMethod.PIX);
+        order.setPaymentDate(LocalDateTime.of(2024, 1, 15, 10, 30));
+        order.setTransactionId("TX-" + id);
+        order.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 0));
+        order.setItems(new ArrayList<>());
+
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName("Produto " + (i + 1));
+            product.setPrice(BigDecimal.valueOf(1999 + i * 100L, 2));
+
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setUnitPrice(product.getPrice());
+            item.setQuantity(1 + i % 5);
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    public static List<OrderResponse> orderResponses(int count, int itemsPerOrder) {
+        List<OrderResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = order(i + 1, itemsPerOrder);
+            responses.add(OrderResponse.builder()
+                    .id(order.getId())
+                    .userEmail(order.getUser().getEmail())
+                    .userName(order.getUser().getName())
+                    .totalAmount(order.getTotalAmount())
+                    .status(order.getStatus())
+                    .paymentMethod(order.getPaymentMethod())
+                    .paymentStatus(order.getPaymentStatus())
+                    .paymentDate(order.getPaymentDate())
+                    .transactionId(order.getTransactionId())
+                    .createdAt(order.getCreatedAt())
+                    .items(order.getItems().stream()
+                            .map(item -> OrderResponse.OrderItemResponse.builder()
+                                    .productId(item.getProduct().getId())
+                                    .productName(item.getProduct().getName())
+                                    .category(item.getProduct().getCategory())
+                                    .quantity(item.getQuantity())
+                                    .unitPrice(item.getUnitPrice())
+                                    .totalPrice(item.getTotalPrice())
+                                    .build())
+                            .toList())
+                    .build());
+        }
+        return responses;
+    }
+}
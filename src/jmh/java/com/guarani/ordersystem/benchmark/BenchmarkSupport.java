@@ -0,0 +1,22 @@
+package com.guarani.ordersystem.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+        // Utility class
+    }
+
+    // Equivalente a ReflectionTestUtils.setField, que não está no classpath dos benchmarks
+    static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("Campo não encontrado: " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,64 @@
+package com.guarani.ordersystem.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.guarani.ordersystem.config.JacksonConfig;
+import com.guarani.ordersystem.dto.ApiResponse;
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.dto.PageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização de uma página de pedidos como devolvida por GET /api/orders
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<PageResponse<OrderResponse>> response;
+
+    @Setup
+    public void setUp() {
+        // Mesma configuração da aplicação: JacksonConfig + spring.jackson.property-naming-strategy
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        objectMapper = new JacksonConfig().objectMapper(builder);
+
+        List<OrderResponse> content = BenchmarkFixtures.orderResponses(pageSize, 3);
+        response = ApiResponse.success(PageResponse.<OrderResponse>builder()
+                .content(content)
+                .currentPage(0)
+                .pageSize(pageSize)
+                .totalElements(10_000)
+                .totalPages(10_000 / pageSize)
+                .first(true)
+                .last(false)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,85 @@
+package com.guarani.ordersystem.benchmark;
+
+import com.guarani.ordersystem.security.JwtService;
+import com.guarani.ordersystem.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo de CPU da autenticação JWT por requisição: fluxo antigo (três parses, chave
+// decodificada a cada parse) contra um único verify() com chave e parser pré-calculados
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET =
+            "mySecretKeyForJWTGenerationInGuaraniApp2024mySecretKeyForJWTGenerationInGuaraniApp2024";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET);
+        BenchmarkSupport.setField(jwtService, "jwtExpiration", 86400000L);
+
+        userDetails = new User("bench@guarani.com", "", List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        // extractUsername do filtro + extractUsername e isTokenExpired de isTokenValid
+        String subject = legacyClaims(token).getSubject();
+        String username = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return subject.equals(userDetails.getUsername())
+                && username.equals(userDetails.getUsername())
+                && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean verifyOnce() {
+        VerifiedToken verified = jwtService.verify(token);
+        return verified.isValidFor(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    private static Claims legacyClaims(String token) {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,48 @@
+package com.guarani.ordersystem.benchmark;
+
+import com.guarani.ordersystem.util.MoneyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyUtilsBenchmark {
+
+    private final BigDecimal amount = new BigDecimal("3499.99");
+    private final BigDecimal percentage = new BigDecimal("12.50");
+    private final BigDecimal discount = new BigDecimal("150.00");
+
+    @Benchmark
+    public String formatToBrazilianCurrency() {
+        return MoneyUtils.formatToBrazilianCurrency(amount);
+    }
+
+    @Benchmark
+    public BigDecimal calculatePercentage() {
+        return MoneyUtils.calculatePercentage(amount, percentage);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalWithTax() {
+        return MoneyUtils.calculateTotalWithTax(amount, percentage);
+    }
+
+    @Benchmark
+    public BigDecimal applyDiscount() {
+        return MoneyUtils.applyDiscount(amount, discount);
+    }
+}
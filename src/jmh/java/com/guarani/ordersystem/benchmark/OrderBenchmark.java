@@ -0,0 +1,48 @@
+package com.guarani.ordersystem.benchmark;
+
+import com.guarani.ordersystem.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order(1L, itemCount);
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTotalAmount() {
+        order.recalculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        // addItem recalcula o total a cada item: custo quadrático no tamanho do carrinho
+        return BenchmarkFixtures.order(1L, itemCount);
+    }
+}
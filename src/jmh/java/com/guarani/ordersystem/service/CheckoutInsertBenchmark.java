@@ -0,0 +1,138 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.config.PooledSequenceValidator;
+import com.guarani.ordersystem.dto.OrderRequest;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.repository.OrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Vazão do insert do checkout (pedido + itens) pelo caminho real: OrderService.buildOrder, OrderRepository.save
+// e o flush do Hibernate, com as propriedades de lote do application.yml. POOLED usa o mapeamento das entidades
+// (sequência com allocationSize 50, inserts em lote); IDENTITY sobrepõe o id de pedido e itens com
+// META-INF/benchmark-identity-orm.xml (um INSERT por linha, sem lote). Fica no pacote service para acessar
+// OrderService.buildOrder (package-private). Requer o PostgreSQL com o schema e os dados iniciais da aplicação;
+// cada checkout é desfeito ao final, sem acumular pedidos no banco:
+// mvn -f pow.xml -Pbenchmark compile exec:exec -Djmh.includes=CheckoutInsertBenchmark
+//     -Djmh.args="-jvmArgsAppend -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/guarani_orders"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutInsertBenchmark {
+
+    private static final String IDENTITY_MAPPING = "META-INF/benchmark-identity-orm.xml";
+
+    @Param({"IDENTITY", "POOLED"})
+    private String strategy;
+
+    @Param({"1", "10", "30"})
+    private int itemCount;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private OrderRepository orderRepository;
+    private User user;
+    private Map<Long, Product> products;
+    private List<OrderRequest.OrderItemRequest> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/guarani_orders");
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        dataSource.setUsername(System.getProperty("benchmark.jdbc.username", "postgres"));
+        dataSource.setPassword(System.getProperty("benchmark.jdbc.password", "postgres"));
+
+        // Como na aplicação: o banco do benchmark precisa estar migrado (V7, INCREMENT BY 50)
+        new PooledSequenceValidator(dataSource).afterPropertiesSet();
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.guarani.ordersystem.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.jdbc.batch_size", "50",
+                "hibernate.jdbc.batch_versioned_data", "true",
+                "hibernate.order_inserts", "true",
+                "hibernate.order_updates", "true",
+                "hibernate.physical_naming_strategy", PhysicalNamingStrategyStandardImpl.class.getName()));
+        if ("IDENTITY".equals(strategy)) {
+            factoryBean.setMappingResources(IDENTITY_MAPPING);
+        }
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        orderRepository = new JpaRepositoryFactory(entityManager).getRepository(OrderRepository.class);
+
+        // Usuário e produtos dos dados iniciais; os itens repetem produtos quando há menos que itemCount
+        transactionTemplate.executeWithoutResult(status -> {
+            user = entityManager.createQuery("SELECT u FROM User u ORDER BY u.id", User.class)
+                    .setMaxResults(1)
+                    .getSingleResult();
+            products = entityManager.createQuery("SELECT p FROM Product p ORDER BY p.id", Product.class)
+                    .setMaxResults(itemCount)
+                    .getResultList().stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+        });
+        List<Long> productIds = new ArrayList<>(products.keySet());
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderRequest.OrderItemRequest.builder()
+                    .productId(productIds.get(i % productIds.size()))
+                    .quantity(1)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Long checkout() {
+        return transactionTemplate.execute(status -> {
+            Order order = orderRepository.save(OrderService.buildOrder(user, items, products));
+            orderRepository.flush();
+            status.setRollbackOnly();
+            return order.getId();
+        });
+    }
+}
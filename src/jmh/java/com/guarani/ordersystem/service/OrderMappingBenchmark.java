@@ -0,0 +1,46 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.benchmark.BenchmarkFixtures;
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Fica no pacote service para acessar OrderService.mapToOrderResponse (package-private)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private OrderService orderService;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        // O mapeamento não usa nenhuma dependência do serviço
+        orderService = new OrderService(null, null, null, null, null, null);
+        order = BenchmarkFixtures.order(1L, itemCount);
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return orderService.mapToOrderResponse(order);
+    }
+}
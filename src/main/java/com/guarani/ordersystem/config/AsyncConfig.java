@@ -1,6 +1,9 @@
 package com.guarani.ordersystem.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -13,6 +16,7 @@ import org.springframework.context.annotation.Bean;
 public class AsyncConfig {
 
     @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
@@ -25,4 +29,48 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // spring.threads.virtual.enabled=true: uma virtual thread por tarefa, sem pool nem fila; o acesso
+    // ao banco continua limitado pelo DataSource (ver DatabaseConcurrencyConfig)
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("GuaraniAsync-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    // Etapas não críticas do ciclo de vida do pedido (auditoria, métricas e deltas dos agregados de vendas),
+    // executadas após o commit. Fila limitada nos dois modos; cheia, a etapa roda na thread que publicou o evento
+    @Bean(name = "orderEventExecutor")
+    public Executor orderEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("GuaraniOrderEvents-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Cópia do histórico de estoque para stock_movements após o commit (StockMovementRecorder). Uma thread
+    // e uma posição na fila: com uma cópia já enfileirada os disparos seguintes são descartados, porque ela
+    // lê as linhas que eles confirmaram. Nada fica só em memória: as movimentações estão no outbox
+    @Bean(name = "stockAuditExecutor")
+    public Executor stockAuditExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("GuaraniStockAudit-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,27 +1,50 @@
 package com.guarani.ordersystem.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
+import java.time.Duration;
 import java.util.List;
 
+// O interceptor de cache envolve o de transação (DatabaseConfig): um @CachePut grava só depois do commit
 @Configuration
-@EnableCaching
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(caffeine(properties.getDefaultMaximumSize(), properties.getDefaultTtl()));
         cacheManager.setCacheNames(List.of(
                 "products",
                 "categories",
                 "users",
-                "orders"
+                "orders",
+                "principals"
         ));
         cacheManager.setAllowNullValues(false);
+
+        // Limite de tamanho e TTL por cache, definidos em app.cache.specs
+        properties.getSpecs().forEach((name, spec) -> cacheManager.registerCustomCache(name, caffeine(
+                spec.getMaximumSize() != null ? spec.getMaximumSize() : properties.getDefaultMaximumSize(),
+                spec.getTtl() != null ? spec.getTtl() : properties.getDefaultTtl()
+        ).build()));
+
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    private Caffeine<Object, Object> caffeine(long maximumSize, Duration ttl) {
+        // recordStats() habilita hits/misses/evictions no endpoint de métricas do actuator
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+}
@@ -0,0 +1,25 @@
+package com.guarani.ordersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    // Valores usados por caches sem configuração própria
+    private long defaultMaximumSize = 1000;
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        private Long maximumSize;
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,118 @@
+package com.guarani.ordersystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Limita quantas conexões podem estar emprestadas ao mesmo tempo. Com virtual threads o número de
+// requisições simultâneas deixa de ser limitado pelo pool do Tomcat; o semáforo (justo) ordena a espera
+// pela conexão e falha rápido após acquireTimeout, em vez de acumular milhares de threads no pool.
+// A permissão é da thread: conexões aninhadas (REQUIRES_NEW, TransactionTemplate) de quem já tem uma
+// não esperam por outra, senão threads no limite esperariam umas pelas outras até o timeout. Essas conexões
+// aninhadas vêm do pool além do limite, por isso maxConcurrent precisa ficar abaixo do tamanho do pool
+// (ver DatabaseConcurrencyConfig): com todas as conexões presas a transações externas, nenhuma aninhada sairia.
+@Slf4j
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ThreadLocal<AtomicInteger> openConnectionsByThread = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, int maxConcurrent, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return borrow(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return borrow(() -> super.getConnection(username, password));
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Limite de conexões simultâneas ao banco atingido ({} aguardando)", permits.getQueueLength());
+                throw new SQLTransientConnectionException(
+                        "Limite de conexões simultâneas ao banco atingido após " + acquireTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", e);
+        }
+    }
+
+    private Connection borrow(ConnectionSupplier supplier) throws SQLException {
+        // Conta todas as conexões abertas pela thread: só a primeira adquire a permissão e só o fechamento
+        // da última a devolve, mesmo que a externa feche antes de uma aninhada
+        AtomicInteger openConnections = openConnectionsByThread.get();
+        if (openConnections.get() == 0) {
+            acquire();
+        }
+        openConnections.incrementAndGet();
+
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            release(openConnections);
+            throw e;
+        }
+
+        // Cada conexão conta uma única vez no close(), quando retorna ao pool
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (closed.compareAndSet(false, true)) {
+                                release(openConnections);
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private void release(AtomicInteger openConnections) {
+        if (openConnections.decrementAndGet() == 0) {
+            permits.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
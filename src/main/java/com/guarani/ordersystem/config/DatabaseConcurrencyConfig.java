@@ -0,0 +1,47 @@
+package com.guarani.ordersystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Só no modo virtual threads: no modo padrão o pool de threads do Tomcat já limita a concorrência
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DatabaseConcurrencyConfig {
+
+    // static: o post-processor precisa existir antes do DataSource, sem inicializar esta configuração
+    @Bean
+    public static BeanPostProcessor databaseConcurrencyLimiter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${app.database.max-concurrent-connections:0}") int configuredMaxConcurrent,
+            @Value("${app.database.connection-acquire-timeout:5s}") Duration acquireTimeout) {
+        int maxConcurrent = maxConcurrent(poolSize, configuredMaxConcurrent);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Conexões aninhadas de quem já tem a permissão não passam pelo limite: ao menos uma conexão do pool
+    // precisa ficar fora dele, senão transações externas ocupando o pool inteiro esperariam para sempre
+    // pelas aninhadas. Sem configuração, o limite é o pool menos essa conexão de folga.
+    static int maxConcurrent(int poolSize, int configuredMaxConcurrent) {
+        int maxConcurrent = configuredMaxConcurrent > 0 ? configuredMaxConcurrent : poolSize - 1;
+        if (maxConcurrent < 1 || maxConcurrent >= poolSize) {
+            throw new IllegalStateException("app.database.max-concurrent-connections (" + maxConcurrent
+                    + ") precisa ser positivo e menor que spring.datasource.hikari.maximum-pool-size (" + poolSize + ")");
+        }
+        return maxConcurrent;
+    }
+}
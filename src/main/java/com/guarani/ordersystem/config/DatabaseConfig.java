@@ -3,6 +3,8 @@ package com.guarani.ordersystem.config;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -15,10 +17,17 @@ import javax.sql.DataSource;
 @Configuration
 @EnableJpaRepositories(basePackages = "com.guarani.ordersystem.repository")
 @EnableJpaAuditing
-@EnableTransactionManagement
+@EnableTransactionManagement(order = Ordered.LOWEST_PRECEDENCE)
 public class DatabaseConfig {
 
     @Bean
+    public PooledSequenceValidator pooledSequenceValidator(DataSource dataSource) {
+        return new PooledSequenceValidator(dataSource);
+    }
+
+    // Sequências conferidas antes de o Hibernate montar os geradores das entidades
+    @Bean
+    @DependsOn("pooledSequenceValidator")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
             EntityManagerFactoryBuilder builder,
             DataSource dataSource) {
@@ -0,0 +1,81 @@
+package com.guarani.ordersystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Retentativa dos métodos @RetryOnOptimisticLock com backoff exponencial e jitter. Precede os interceptores
+// de cache e de transação: cada tentativa roda em uma transação nova. Métricas por método:
+// optimistic.lock.conflicts (todo conflito), optimistic.lock.retries e optimistic.lock.exhausted.
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@RequiredArgsConstructor
+public class OptimisticLockRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.optimistic-lock.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.optimistic-lock.initial-backoff:20ms}")
+    private Duration initialBackoff;
+
+    @Value("${app.optimistic-lock.max-backoff:200ms}")
+    private Duration maxBackoff;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        // Chamado dentro de uma transação já aberta, repetir não adianta: a transação externa
+        // já foi marcada para rollback e o conflito deve chegar a quem a abriu
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        int attempts = retry.maxAttempts() > 0 ? retry.maxAttempts() : maxAttempts;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("optimistic.lock.conflicts", "method", method).increment();
+                if (attempt >= attempts) {
+                    meterRegistry.counter("optimistic.lock.exhausted", "method", method).increment();
+                    log.warn("Conflito de versão em {} após {} tentativas: {}", method, attempt, e.getMessage());
+                    throw e;
+                }
+                meterRegistry.counter("optimistic.lock.retries", "method", method).increment();
+                log.info("Conflito de versão em {} (tentativa {} de {}), repetindo", method, attempt, attempts);
+                pause(attempt, e);
+            }
+        }
+    }
+
+    // Backoff exponencial limitado a max-backoff, com jitter para não repetir em sincronia com a outra escrita
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 16));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
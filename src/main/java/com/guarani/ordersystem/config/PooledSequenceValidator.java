@@ -0,0 +1,59 @@
+package com.guarani.ordersystem.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Confere, antes da criação do EntityManagerFactory, que as sequências das entidades têm o incremento do
+// otimizador pooled do Hibernate (allocationSize 50). O schema só é alterado pela V7: uma sequência com
+// outro incremento interrompe a inicialização com a lista das divergentes, em vez de o Hibernate reservar
+// intervalos que não correspondem ao banco.
+// Só no PostgreSQL; nos demais bancos as sequências são criadas pelo próprio Hibernate.
+@RequiredArgsConstructor
+public class PooledSequenceValidator implements InitializingBean {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> SEQUENCES = List.of(
+            "users_id_seq",
+            "products_id_seq",
+            "orders_id_seq",
+            "order_items_id_seq",
+            "product_price_history_id_seq");
+
+    private static final String INCREMENTS_SQL = "SELECT sequencename, increment_by FROM pg_sequences " +
+            "WHERE schemaname = current_schema() AND sequencename IN (%s)";
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(database)) {
+            return;
+        }
+
+        // Sequência inexistente é criada pelo Hibernate já com o incremento certo
+        Map<String, Long> mismatched = new TreeMap<>();
+        jdbcTemplate.query(INCREMENTS_SQL.formatted(String.join(", ", Collections.nCopies(SEQUENCES.size(), "?"))),
+                rs -> {
+                    long increment = rs.getLong("increment_by");
+                    if (increment != ALLOCATION_SIZE) {
+                        mismatched.put(rs.getString("sequencename"), increment);
+                    }
+                }, SEQUENCES.toArray());
+        if (!mismatched.isEmpty()) {
+            throw new IllegalStateException("Sequências com INCREMENT BY diferente do allocationSize " +
+                    ALLOCATION_SIZE + ": " + mismatched + ". Aplique a migração V7__use_pooled_id_sequences");
+        }
+    }
+}
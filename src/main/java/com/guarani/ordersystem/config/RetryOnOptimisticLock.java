@@ -0,0 +1,18 @@
+package com.guarani.ordersystem.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Reexecuta o método quando a transação falha por conflito de versão (OptimisticLockingFailureException).
+// Deve marcar métodos que abrem a própria transação e podem ser repetidos: cada tentativa relê o estado atual.
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+
+    // 0 usa app.optimistic-lock.max-attempts
+    int maxAttempts() default 0;
+}
@@ -0,0 +1,61 @@
+package com.guarani.ordersystem.controller;
+
+import com.guarani.ordersystem.dto.ApiResponse;
+import com.guarani.ordersystem.dto.CatalogSearchResponse;
+import com.guarani.ordersystem.dto.CategoryResponse;
+import com.guarani.ordersystem.service.CatalogIndex;
+import com.guarani.ordersystem.service.CategoryService;
+import com.guarani.ordersystem.util.Constants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Tag(name = "Catálogo", description = "APIs de navegação do catálogo de produtos")
+public class CatalogController {
+
+    private final CatalogIndex catalogIndex;
+    private final CategoryService categoryService;
+
+    @GetMapping("/categories")
+    @Operation(summary = "Listar categorias",
+            description = "Retorna as categorias de produtos ativos com quantidade de produtos e faixa de preço")
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getCategories() {
+        List<CategoryResponse> categories = categoryService.findAll();
+        return ResponseEntity.ok(ApiResponse.success(categories));
+    }
+
+    @GetMapping("/categories/{category}")
+    @Operation(summary = "Obter categoria", description = "Retorna o resumo de uma categoria de produtos ativos")
+    public ResponseEntity<ApiResponse<CategoryResponse>> getCategory(@PathVariable String category) {
+        CategoryResponse summary = categoryService.findByCategory(category);
+        return ResponseEntity.ok(ApiResponse.success("Categoria encontrada", summary));
+    }
+
+    @GetMapping("/catalog")
+    @Operation(summary = "Navegar no catálogo",
+            description = "Filtra produtos ativos por categoria e faixa de preço e retorna as contagens por faceta")
+    public ResponseEntity<ApiResponse<CatalogSearchResponse>> searchCatalog(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CatalogSearchResponse result = catalogIndex.search(category, minPrice, maxPrice,
+                CatalogIndex.Sort.from(sort), page, size);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+}
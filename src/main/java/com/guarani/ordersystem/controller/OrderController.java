@@ -2,22 +2,29 @@ package com.guarani.ordersystem.controller;
 
 import com.guarani.ordersystem.dto.*;
 import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.service.OrderExportService;
+import com.guarani.ordersystem.service.OrderImportService;
 import com.guarani.ordersystem.service.OrderService;
 import com.guarani.ordersystem.util.Constants;
 import com.guarani.ordersystem.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
@@ -26,6 +33,8 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderImportService orderImportService;
 
     @GetMapping
     @Operation(summary = "Listar pedidos", description = "Retorna lista paginada de pedidos")
@@ -50,10 +59,49 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.of(orders)));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar pedidos por cursor",
+            description = "Retorna pedidos do mais recente ao mais antigo paginados por cursor, sem contagem total; use next_cursor para a próxima página")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OrderResponse>>> getOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CursorPageResponse<OrderResponse> orders;
+        if (SecurityUtils.hasRole("ADMIN")) {
+            orders = orderService.findAllByCursor(cursor, size);
+        } else {
+            String currentUser = SecurityUtils.getCurrentUsername();
+            orders = orderService.findByUserEmailByCursor(currentUser, cursor, size);
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(orders));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar pedidos",
+            description = "Exporta pedidos em NDJSON ou CSV em uma única resposta, escrita em streaming; a última linha traz o status da exportação (COMPLETE com o total ou ABORTED) e sua ausência indica arquivo truncado")
+    public void exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) OrderStatus status,
+            HttpServletResponse response
+    ) throws IOException {
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.getExtension() + "\"");
+
+        orderExportService.export(status, exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter pedido por ID", description = "Retorna pedido específico por ID")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(@PathVariable Long id) {
         OrderResponse order = orderService.findById(id);
+        // A permissão é verificada a cada leitura, inclusive quando o pedido vem do cache
+        orderService.checkOrderAccessPermission(order);
         return ResponseEntity.ok(ApiResponse.success("Pedido encontrado", order));
     }
 
@@ -93,6 +141,19 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Pedido criado com sucesso", order));
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar pedidos em lote",
+            description = "Cria pedidos de integrações de marketplace em blocos transacionais, retornando o resultado de cada pedido")
+    public ResponseEntity<ApiResponse<BulkOrderResponse>> importOrders(
+            @Valid @RequestBody BulkOrderRequest request
+    ) {
+        BulkOrderResponse result = orderImportService.importOrders(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Importação concluída: " + result.getSucceeded() + " pedidos criados, " + result.getFailed() + " com erro",
+                result));
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
     @Operation(summary = "Atualizar status do pedido", description = "Atualiza status de um pedido existente")
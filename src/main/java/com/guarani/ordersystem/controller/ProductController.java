@@ -43,6 +43,17 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.of(products)));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar produtos por cursor",
+            description = "Retorna produtos ativos paginados por cursor, sem contagem total; use next_cursor para a próxima página")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> getProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Constants.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CursorPageResponse<ProductResponse> products = productService.findActiveProductsByCursor(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Buscar produtos", description = "Busca produtos com filtros avançados")
     public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> searchProducts(
@@ -81,7 +92,8 @@ public class ProductController {
 
     @GetMapping("/low-stock")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
-    @Operation(summary = "Listar produtos com estoque baixo", description = "Retorna produtos com estoque menor que 10 unidades")
+    @Operation(summary = "Listar produtos com estoque baixo",
+            description = "Retorna produtos ativos com estoque abaixo do limite do produto, da categoria ou do padrão")
     @SecurityRequirement(name = "bearerAuth")
     public ResponseEntity<ApiResponse<List<ProductResponse>>> getLowStockProducts() {
         List<ProductResponse> products = productService.findLowStockProducts();
@@ -111,6 +123,44 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Produto atualizado com sucesso", product));
     }
 
+    @PatchMapping("/stock")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
+    @Operation(summary = "Atualizar estoque em massa",
+            description = "Aplica movimentações de estoque de vários produtos em uma única requisição, retornando os itens rejeitados")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponse<BulkStockUpdateResponse>> updateStockBulk(
+            @Valid @RequestBody BulkStockUpdateRequest request
+    ) {
+        BulkStockUpdateResponse result = productService.updateStockBulk(request.getItems());
+        return ResponseEntity.ok(ApiResponse.success("Estoque atualizado em massa", result));
+    }
+
+    @PutMapping("/{id}/low-stock-threshold")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
+    @Operation(summary = "Definir limite de estoque baixo do produto",
+            description = "Define o limite de alerta do produto; limite nulo volta a usar o da categoria ou o padrão")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponse<Void>> updateLowStockThreshold(
+            @PathVariable Long id,
+            @Valid @RequestBody LowStockThresholdRequest request
+    ) {
+        productService.updateLowStockThreshold(id, request.getThreshold());
+        return ResponseEntity.ok(ApiResponse.success("Limite de estoque baixo atualizado"));
+    }
+
+    @PutMapping("/categories/{category}/low-stock-threshold")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
+    @Operation(summary = "Definir limite de estoque baixo da categoria",
+            description = "Define o limite de alerta dos produtos da categoria sem limite próprio; limite nulo volta ao padrão")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponse<Void>> updateCategoryLowStockThreshold(
+            @PathVariable String category,
+            @Valid @RequestBody LowStockThresholdRequest request
+    ) {
+        productService.updateCategoryLowStockThreshold(category, request.getThreshold());
+        return ResponseEntity.ok(ApiResponse.success("Limite de estoque baixo atualizado"));
+    }
+
     @PatchMapping("/{id}/stock")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
     @Operation(summary = "Atualizar estoque", description = "Atualiza estoque do produto com movimentação")
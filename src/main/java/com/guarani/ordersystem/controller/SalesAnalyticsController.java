@@ -0,0 +1,52 @@
+package com.guarani.ordersystem.controller;
+
+import com.guarani.ordersystem.dto.ApiResponse;
+import com.guarani.ordersystem.dto.SalesReportResponse;
+import com.guarani.ordersystem.service.SalesAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics/sales")
+@RequiredArgsConstructor
+@Tag(name = "Análise de Vendas", description = "APIs de relatórios de vendas agregados")
+@SecurityRequirement(name = "bearerAuth")
+public class SalesAnalyticsController {
+
+    private static final int DEFAULT_PERIOD_DAYS = 30;
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
+    @Operation(summary = "Relatório de vendas",
+            description = "Totais, vendas por dia, por categoria e por forma de pagamento no período (padrão: últimos 30 dias)")
+    public ResponseEntity<ApiResponse<SalesReportResponse>> getReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_PERIOD_DAYS - 1L);
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getReport(start, end)));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recalcular agregados de vendas",
+            description = "Recalcula os agregados do período a partir dos pedidos e retorna o relatório atualizado")
+    public ResponseEntity<ApiResponse<SalesReportResponse>> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        SalesReportResponse report = salesAnalyticsService.rebuild(from, to);
+        return ResponseEntity.ok(ApiResponse.success("Agregados de vendas recalculados", report));
+    }
+}
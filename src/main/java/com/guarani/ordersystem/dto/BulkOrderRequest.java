@@ -0,0 +1,39 @@
+package com.guarani.ordersystem.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOrderRequest {
+
+    @NotEmpty(message = "Importação deve conter pelo menos um pedido")
+    private List<@Valid OrderEntry> orders;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class OrderEntry {
+
+        // Identificador do pedido no marketplace, devolvido no resultado para conciliação
+        private String externalId;
+
+        @NotBlank(message = "Email do cliente é obrigatório")
+        @Email(message = "Email do cliente deve ser válido")
+        private String userEmail;
+
+        @NotEmpty(message = "Pedido deve conter pelo menos um item")
+        private List<OrderRequest.@Valid OrderItemRequest> items;
+    }
+}
@@ -0,0 +1,43 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOrderResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<OrderResult> results;
+
+    public static BulkOrderResponse of(List<OrderResult> results) {
+        int succeeded = (int) results.stream().filter(OrderResult::isSuccess).count();
+        return BulkOrderResponse.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class OrderResult {
+        private int index;
+        private String externalId;
+        private boolean success;
+        private Long orderId;
+        private BigDecimal totalAmount;
+        private String error;
+    }
+}
@@ -0,0 +1,51 @@
+package com.guarani.ordersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStockUpdateRequest {
+
+    @NotEmpty(message = "Atualização deve conter pelo menos um item")
+    private List<@Valid StockUpdateItem> items;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StockUpdateItem {
+
+        @NotNull(message = "ID do produto é obrigatório")
+        private Long productId;
+
+        @NotNull(message = "Tipo de movimentação é obrigatório")
+        private StockMovementType movementType;
+
+        @NotNull(message = "Quantidade é obrigatória")
+        @PositiveOrZero(message = "Quantidade não pode ser negativa")
+        private Integer quantity;
+
+        private String reason;
+
+        // Zero só faz sentido como ajuste para o valor absoluto; entradas e saídas exigem quantidade positiva
+        @JsonIgnore
+        @AssertTrue(message = "Quantidade deve ser positiva para entradas e saídas")
+        public boolean isQuantityValidForMovementType() {
+            return quantity == null || quantity != 0 || movementType == StockMovementType.AJUSTE;
+        }
+    }
+}
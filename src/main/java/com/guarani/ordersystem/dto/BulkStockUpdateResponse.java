@@ -0,0 +1,29 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStockUpdateResponse {
+    private int total;
+    private int updated;
+    private int failed;
+    // Só os itens rejeitados: a sincronização do depósito envia dezenas de milhares de linhas
+    private List<StockUpdateFailure> failures;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StockUpdateFailure {
+        private Long productId;
+        private String error;
+    }
+}
@@ -0,0 +1,41 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogSearchResponse {
+    private List<ProductResponse> content;
+    private int currentPage;
+    private int pageSize;
+    private long totalElements;
+    private List<CategoryFacet> categoryFacets;
+    private List<PriceRangeFacet> priceRangeFacets;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CategoryFacet {
+        private String category;
+        private long count;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PriceRangeFacet {
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private long count;
+    }
+}
@@ -0,0 +1,19 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryResponse {
+    private String category;
+    private Long productCount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
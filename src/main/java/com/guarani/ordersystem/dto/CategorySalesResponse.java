@@ -0,0 +1,18 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategorySalesResponse {
+    private String category;
+    private Long itemsQuantity;
+    private BigDecimal amount;
+}
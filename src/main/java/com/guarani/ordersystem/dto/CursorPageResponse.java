@@ -0,0 +1,32 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private boolean hasNext;
+
+    // rows deve conter até pageSize + 1 elementos: o excedente indica que há próxima página
+    public static <T> CursorPageResponse<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        return CursorPageResponse.<T>builder()
+                .content(content)
+                .pageSize(pageSize)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
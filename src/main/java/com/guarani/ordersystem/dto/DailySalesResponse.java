@@ -0,0 +1,22 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailySalesResponse {
+    private LocalDate date;
+    private Long ordersCount;
+    private Long cancelledCount;
+    private BigDecimal grossAmount;
+    private BigDecimal cancelledAmount;
+    private BigDecimal netAmount;
+}
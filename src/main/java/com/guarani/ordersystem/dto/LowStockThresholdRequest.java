@@ -0,0 +1,18 @@
+package com.guarani.ordersystem.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockThresholdRequest {
+
+    // Nulo remove o limite específico e volta a valer o da categoria ou o padrão
+    @PositiveOrZero(message = "Limite de estoque baixo não pode ser negativo")
+    private Integer threshold;
+}
@@ -37,6 +37,7 @@ public class OrderResponse {
     public static class OrderItemResponse {
         private Long productId;
         private String productName;
+        private String category;
         private Integer quantity;
         private BigDecimal unitPrice;
         private BigDecimal totalPrice;
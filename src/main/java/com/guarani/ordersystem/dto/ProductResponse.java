@@ -9,7 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class ProductResponse {
@@ -22,4 +22,6 @@ public class ProductResponse {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Versão otimista do produto: ordena os eventos de estoque e de cadastro nos índices em memória
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.guarani.ordersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesReportResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Long ordersCount;
+    private Long cancelledCount;
+    private BigDecimal grossAmount;
+    private BigDecimal netAmount;
+    private BigDecimal averageTicket;
+    private List<DailySalesResponse> daily;
+    private List<CategorySalesResponse> categories;
+    private List<PaymentMethodSalesResponse> paymentMethods;
+}
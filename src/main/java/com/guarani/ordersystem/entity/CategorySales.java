@@ -0,0 +1,43 @@
+package com.guarani.ordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "category_sales")
+@IdClass(CategorySales.Key.class)
+@Data
+public class CategorySales {
+
+    @Id
+    @Column(name = "sale_date")
+    private LocalDate saleDate;
+
+    @Id
+    @Column(length = 100)
+    private String category;
+
+    @Column(name = "items_quantity", nullable = false)
+    private Long itemsQuantity = 0L;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate saleDate;
+        private String category;
+    }
+}
@@ -0,0 +1,33 @@
+package com.guarani.ordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_sales")
+@Data
+public class DailySales {
+
+    @Id
+    @Column(name = "sale_date")
+    private LocalDate saleDate;
+
+    @Column(name = "orders_count", nullable = false)
+    private Long ordersCount = 0L;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private Long cancelledCount = 0L;
+
+    @Column(name = "gross_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal grossAmount = BigDecimal.ZERO;
+
+    @Column(name = "cancelled_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
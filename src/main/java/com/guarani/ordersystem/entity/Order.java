@@ -25,7 +25,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -73,6 +74,11 @@ public class Order {
     @Column(name = "last_modified_by")
     private String lastModifiedBy;
 
+    // Controle de concorrência otimista: o UPDATE só aplica se a versão lida ainda for a atual
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
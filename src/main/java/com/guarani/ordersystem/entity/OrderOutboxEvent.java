@@ -0,0 +1,51 @@
+package com.guarani.ordersystem.entity;
+
+import com.guarani.ordersystem.entity.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_outbox")
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OrderOutboxEvent {
+
+    // Id atribuído pelo banco no insert, sem blocos pré-alocados por instância: entre eventos do mesmo
+    // pedido a ordem dos ids é a ordem de commit (ver OrderOutboxWriter)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
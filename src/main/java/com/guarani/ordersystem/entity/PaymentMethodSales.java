@@ -0,0 +1,43 @@
+package com.guarani.ordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payment_method_sales")
+@IdClass(PaymentMethodSales.Key.class)
+@Data
+public class PaymentMethodSales {
+
+    @Id
+    @Column(name = "sale_date")
+    private LocalDate saleDate;
+
+    @Id
+    @Column(name = "payment_method", length = 50)
+    private String paymentMethod;
+
+    @Column(name = "approved_count", nullable = false)
+    private Long approvedCount = 0L;
+
+    @Column(name = "approved_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal approvedAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate saleDate;
+        private String paymentMethod;
+    }
+}
@@ -22,7 +22,8 @@ import java.util.List;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_seq")
+    @SequenceGenerator(name = "products_id_seq", sequenceName = "products_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -60,6 +61,11 @@ public class Product {
     @Column(name = "last_modified_by")
     private String lastModifiedBy;
 
+    // Controle de concorrência otimista: o UPDATE só aplica se a versão lida ainda for a atual
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems = new ArrayList<>();
 
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class ProductPriceHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_price_history_id_seq")
+    @SequenceGenerator(name = "product_price_history_id_seq", sequenceName = "product_price_history_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -0,0 +1,45 @@
+package com.guarani.ordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Delta de um agregado de vendas gravado após o commit do pedido e aplicado pelo SalesRollupRecorder.
+// Inserido e lido só via JDBC; o mapeamento mantém o schema do ddl-auto
+@Entity
+@Table(name = "sales_rollup_deltas")
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class SalesRollupDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    // DAILY, CATEGORY ou PAYMENT
+    @Column(nullable = false, length = 20)
+    private String rollup;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    // Categoria ou forma de pagamento; nulo para DAILY
+    @Column(name = "rollup_key", length = 100)
+    private String rollupKey;
+
+    @Column(name = "count_delta", nullable = false)
+    private Long countDelta;
+
+    @Column(name = "cancelled_delta", nullable = false)
+    private Long cancelledDelta;
+
+    @Column(name = "amount_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountDelta;
+
+    @Column(name = "cancelled_amount_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal cancelledAmountDelta;
+}
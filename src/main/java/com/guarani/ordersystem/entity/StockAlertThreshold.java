@@ -0,0 +1,38 @@
+package com.guarani.ordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+// Limite de estoque baixo de um produto ou de uma categoria (exatamente um dos dois é informado)
+@Entity
+@Table(name = "stock_alert_thresholds")
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class StockAlertThreshold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "product_id", unique = true)
+    private Long productId;
+
+    @Column(length = 100, unique = true)
+    private String category;
+
+    @Column(nullable = false)
+    private Integer threshold;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
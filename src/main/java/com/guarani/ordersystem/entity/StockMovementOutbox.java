@@ -0,0 +1,28 @@
+package com.guarani.ordersystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+// Movimentações de uma alteração de estoque, gravadas na transação dela e copiadas para stock_movements
+// pelo StockMovementRecorder. Inseridas e lidas só via JDBC; o mapeamento mantém o schema do ddl-auto
+@Entity
+@Table(name = "stock_movement_outbox")
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class StockMovementOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    // Lista de StockMovementRecorder.Movement em JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
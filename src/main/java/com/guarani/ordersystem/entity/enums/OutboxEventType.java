@@ -0,0 +1,7 @@
+package com.guarani.ordersystem.entity.enums;
+
+public enum OutboxEventType {
+    ORDER_CREATED,
+    PAYMENT_APPROVED,
+    ORDER_STATUS_CHANGED
+}
@@ -0,0 +1,13 @@
+package com.guarani.ordersystem.event;
+
+import com.guarani.ordersystem.dto.ProductResponse;
+import lombok.Value;
+
+// Publicado por LowStockTracker quando o estoque de um produto cruza o limite: belowThreshold indica
+// se entrou (true) ou saiu (false) da faixa de estoque baixo
+@Value
+public class LowStockAlertEvent {
+    ProductResponse product;
+    int threshold;
+    boolean belowThreshold;
+}
@@ -0,0 +1,10 @@
+package com.guarani.ordersystem.event;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import lombok.Value;
+
+// Publicado por OrderService quando um pedido é cancelado e seu estoque restaurado
+@Value
+public class OrderCancelledEvent {
+    OrderResponse order;
+}
@@ -0,0 +1,10 @@
+package com.guarani.ordersystem.event;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import lombok.Value;
+
+// Publicado por OrderService ao criar um pedido, com o pedido criado; entregue aos ouvintes após o commit
+@Value
+public class OrderCreatedEvent {
+    OrderResponse order;
+}
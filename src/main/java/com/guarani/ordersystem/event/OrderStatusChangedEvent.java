@@ -0,0 +1,12 @@
+package com.guarani.ordersystem.event;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import lombok.Value;
+
+// Publicado por OrderService a cada mudança de status de um pedido, inclusive confirmação automática e cancelamento
+@Value
+public class OrderStatusChangedEvent {
+    OrderResponse order;
+    OrderStatus previousStatus;
+}
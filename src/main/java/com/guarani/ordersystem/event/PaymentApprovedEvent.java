@@ -0,0 +1,10 @@
+package com.guarani.ordersystem.event;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import lombok.Value;
+
+// Publicado por OrderService quando o pagamento de um pedido passa a aprovado
+@Value
+public class PaymentApprovedEvent {
+    OrderResponse order;
+}
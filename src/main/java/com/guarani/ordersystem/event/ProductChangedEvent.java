@@ -0,0 +1,10 @@
+package com.guarani.ordersystem.event;
+
+import com.guarani.ordersystem.dto.ProductResponse;
+import lombok.Value;
+
+// Publicado por ProductService após criar, atualizar ou desativar um produto, com o estado resultante
+@Value
+public class ProductChangedEvent {
+    ProductResponse product;
+}
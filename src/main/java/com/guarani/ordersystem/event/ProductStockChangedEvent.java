@@ -0,0 +1,16 @@
+package com.guarani.ordersystem.event;
+
+import lombok.Value;
+
+import java.util.Map;
+
+// Publicado por ProductService após movimentações de estoque, com o novo estoque por ID de produto
+@Value
+public class ProductStockChangedEvent {
+    Map<Long, Stock> stockLevels;
+
+    // Estoque e versão do produto logo após a movimentação. Os eventos chegam após o commit, em threads
+    // diferentes e fora da ordem dos commits: quem já tem uma versão mais nova do produto descarta o evento
+    public record Stock(int quantity, long version) {
+    }
+}
@@ -2,6 +2,7 @@ package com.guarani.ordersystem.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -161,6 +162,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
+    // Conflito de versão que persistiu após as retentativas de @RetryOnOptimisticLock
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            WebRequest request) {
+
+        log.warn("Conflito de atualização concorrente: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "O registro foi alterado por outra operação. Tente novamente"
+        );
+        setRequestDetails(error, request);
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(OrderProcessingException.class)
     public ResponseEntity<ErrorResponse> handleOrderProcessingException(
             OrderProcessingException ex,
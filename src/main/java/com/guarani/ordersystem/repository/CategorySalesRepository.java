@@ -0,0 +1,21 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.dto.CategorySalesResponse;
+import com.guarani.ordersystem.entity.CategorySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CategorySalesRepository extends JpaRepository<CategorySales, CategorySales.Key> {
+
+    @Query("SELECT new com.guarani.ordersystem.dto.CategorySalesResponse(" +
+            "c.category, SUM(c.itemsQuantity), SUM(c.amount)) " +
+            "FROM CategorySales c WHERE c.saleDate BETWEEN :from AND :to " +
+            "GROUP BY c.category ORDER BY SUM(c.amount) DESC")
+    List<CategorySalesResponse> summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,14 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.entity.DailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+    List<DailySales> findBySaleDateBetweenOrderBySaleDate(LocalDate from, LocalDate to);
+}
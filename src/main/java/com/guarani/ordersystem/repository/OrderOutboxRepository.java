@@ -0,0 +1,35 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED (lock timeout -2): instâncias concorrentes do relay
+    // reivindicam lotes disjuntos em vez de esperar pelas linhas já travadas.
+    // Só o evento pendente mais antigo de cada pedido é reivindicável: o seguinte espera a publicação
+    // dele, mesmo em outra instância. Um evento esgotado (max-attempts) bloqueia os posteriores do pedido
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OrderOutboxEvent e WHERE e.publishedAt IS NULL AND e.attempts < :maxAttempts " +
+            "AND NOT EXISTS (SELECT p.id FROM OrderOutboxEvent p " +
+            "WHERE p.orderId = e.orderId AND p.publishedAt IS NULL AND p.id < e.id) ORDER BY e.id")
+    List<OrderOutboxEvent> claimPending(@Param("maxAttempts") int maxAttempts, Pageable limit);
+
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
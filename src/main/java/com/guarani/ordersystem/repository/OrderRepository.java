@@ -0,0 +1,76 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // As consultas paginadas trazem o usuário no mesmo SELECT; itens e produtos são
+    // carregados depois, de uma vez para a página inteira, com fetchItemsByIdIn
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "SELECT o FROM Order o WHERE o.user.email = :email",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.email = :email")
+    Page<Order> findByUserEmail(@Param("email") String email, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Order> findAll(Pageable pageable);
+
+    // Paginação por cursor (keyset) em (created_at, id) decrescente: o Pageable só limita
+    // o número de linhas, sem OFFSET e sem consulta de contagem
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstKeysetPage(Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o " +
+            "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                    Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o WHERE o.user.email = :email " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstKeysetPageByUserEmail(@Param("email") String email, Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o WHERE o.user.email = :email " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findKeysetPageByUserEmailAfter(@Param("email") String email,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, Pageable limit);
+
+    // Cursor somente leitura para exportação: o driver busca as linhas em lotes do tamanho do
+    // fetch size em vez de materializar o resultado inteiro. Deve ser consumido dentro de uma transação
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o JOIN FETCH o.user WHERE :status IS NULL OR o.status = :status ORDER BY o.id")
+    Stream<Order> streamForExport(@Param("status") OrderStatus status);
+
+    // JOIN FETCH de coleção não pode ser paginado no banco, por isso fica separado da página
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product WHERE o.id IN :ids")
+    List<Order> fetchItemsByIdIn(@Param("ids") Collection<Long> ids);
+}
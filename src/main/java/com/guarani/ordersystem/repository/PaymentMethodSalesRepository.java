@@ -0,0 +1,21 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.dto.PaymentMethodSalesResponse;
+import com.guarani.ordersystem.entity.PaymentMethodSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PaymentMethodSalesRepository extends JpaRepository<PaymentMethodSales, PaymentMethodSales.Key> {
+
+    @Query("SELECT new com.guarani.ordersystem.dto.PaymentMethodSalesResponse(" +
+            "p.paymentMethod, SUM(p.approvedCount), SUM(p.approvedAmount)) " +
+            "FROM PaymentMethodSales p WHERE p.saleDate BETWEEN :from AND :to " +
+            "GROUP BY p.paymentMethod ORDER BY SUM(p.approvedAmount) DESC")
+    List<PaymentMethodSalesResponse> summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
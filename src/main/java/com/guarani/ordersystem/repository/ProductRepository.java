@@ -0,0 +1,148 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.dto.CategoryResponse;
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    // Projeção direta em ProductResponse para as listagens do catálogo: não carrega entidades
+    // gerenciadas no contexto de persistência nem passa pelo dirty checking no flush
+    String SELECT_PRODUCT_RESPONSE = "SELECT new com.guarani.ordersystem.dto.ProductResponse(" +
+            "p.id, p.name, p.description, p.price, p.category, p.stockQuantity, p.active, " +
+            "p.createdAt, p.updatedAt, p.version) FROM Product p ";
+
+    String SEARCH_FILTER = "WHERE p.active = true " +
+            "AND (:namePattern IS NULL OR LOWER(p.name) LIKE :namePattern) " +
+            "AND (:category IS NULL OR LOWER(p.category) = :category) " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice)";
+
+    List<Product> findByCategoryIgnoreCase(String category);
+
+    Page<Product> findByCategoryIgnoreCase(String category, Pageable pageable);
+
+    List<Product> findByActiveTrue();
+
+    Page<Product> findByActiveTrue(Pageable pageable);
+
+    List<Product> findByStockQuantityLessThanAndActiveTrue(Integer quantity);
+
+    @Query(value = SELECT_PRODUCT_RESPONSE,
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = SELECT_PRODUCT_RESPONSE + "WHERE LOWER(p.category) = LOWER(:category)",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.category) = LOWER(:category)")
+    Page<ProductResponse> findResponsesByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(value = SELECT_PRODUCT_RESPONSE + "WHERE p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true")
+    Page<ProductResponse> findActiveResponses(Pageable pageable);
+
+    // Paginação por cursor dos produtos ativos, buscando pela chave primária
+    @Query(SELECT_PRODUCT_RESPONSE + "WHERE p.active = true AND p.id > :id ORDER BY p.id")
+    List<ProductResponse> findActiveResponsesAfter(@Param("id") Long id, Pageable limit);
+
+    // namePattern e category devem chegar já em minúsculas; filtros nulos são ignorados
+    @Query(value = SELECT_PRODUCT_RESPONSE + SEARCH_FILTER,
+            countQuery = "SELECT COUNT(p) FROM Product p " + SEARCH_FILTER)
+    Page<ProductResponse> searchResponses(@Param("namePattern") String namePattern,
+                                          @Param("category") String category,
+                                          @Param("minPrice") BigDecimal minPrice,
+                                          @Param("maxPrice") BigDecimal maxPrice,
+                                          Pageable pageable);
+
+    // Resumo das categorias de produtos ativos, agregado no banco em uma única consulta.
+    // Categorias que diferem só na caixa formam um único grupo, identificado por uma das grafias
+    @Query("SELECT new com.guarani.ordersystem.dto.CategoryResponse(" +
+            "MIN(p.category), COUNT(p), MIN(p.price), MAX(p.price)) " +
+            "FROM Product p WHERE p.active = true GROUP BY LOWER(p.category) ORDER BY LOWER(p.category)")
+    List<CategoryResponse> summarizeActiveCategories();
+
+    @Query("SELECT new com.guarani.ordersystem.dto.CategoryResponse(" +
+            "MIN(p.category), COUNT(p), MIN(p.price), MAX(p.price)) " +
+            "FROM Product p WHERE p.active = true AND LOWER(p.category) = LOWER(:category) " +
+            "GROUP BY LOWER(p.category)")
+    Optional<CategoryResponse> summarizeActiveCategory(@Param("category") String category);
+
+    // Busca textual (PostgreSQL, migração V6): casa pelo tsvector de nome/descrição ou por similaridade
+    // de trigramas do nome, tolerando erros de digitação, e ordena por relevância
+    String FULL_TEXT_FILTER = "FROM products p " +
+            "WHERE p.active = true " +
+            "AND (p.search_vector @@ websearch_to_tsquery('portuguese', :query) " +
+            "OR lower(:query) <% lower(p.name)) " +
+            "AND (CAST(:category AS VARCHAR) IS NULL OR lower(p.category) = CAST(:category AS VARCHAR)) " +
+            "AND (CAST(:minPrice AS NUMERIC) IS NULL OR p.price >= CAST(:minPrice AS NUMERIC)) " +
+            "AND (CAST(:maxPrice AS NUMERIC) IS NULL OR p.price <= CAST(:maxPrice AS NUMERIC)) ";
+
+    @Query(value = "SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price, " +
+            "p.category AS category, p.stock_quantity AS stockQuantity, p.active AS active, " +
+            "p.created_at AS createdAt, p.updated_at AS updatedAt, " +
+            "ts_rank_cd(p.search_vector, websearch_to_tsquery('portuguese', :query)) * 2 " +
+            "+ word_similarity(lower(:query), lower(p.name)) AS rank " +
+            FULL_TEXT_FILTER +
+            "ORDER BY rank DESC, p.id",
+            countQuery = "SELECT COUNT(*) " + FULL_TEXT_FILTER,
+            nativeQuery = true)
+    Page<ProductSearchHit> fullTextSearch(@Param("query") String query,
+                                          @Param("category") String category,
+                                          @Param("minPrice") BigDecimal minPrice,
+                                          @Param("maxPrice") BigDecimal maxPrice,
+                                          Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.stockQuantity AS stockQuantity, p.version AS version " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<StockLevel> findStockLevels(@Param("ids") Collection<Long> ids);
+
+    // Estoque atual com as linhas bloqueadas até o fim da transação, em ordem crescente de ID (a mesma
+    // dos UPDATEs de estoque): o valor lido é o anterior à escrita que vem em seguida
+    @Query(value = "SELECT id AS id, stock_quantity AS stockQuantity, version AS version FROM products " +
+            "WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<StockLevel> lockStockLevels(@Param("ids") Collection<Long> ids);
+
+    interface ProductSearchHit {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+
+        BigDecimal getPrice();
+
+        String getCategory();
+
+        Integer getStockQuantity();
+
+        Boolean getActive();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        Double getRank();
+    }
+
+    interface StockLevel {
+        Long getId();
+
+        Integer getStockQuantity();
+
+        Long getVersion();
+    }
+}
@@ -0,0 +1,13 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    List<StockMovement> findByProductIdOrderByMovementDateDesc(Long productId);
+}
@@ -0,0 +1,23 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    List<User> findByRolesContaining(Role role);
+
+    // Importação em lote: resolve os clientes de um bloco inteiro em uma única consulta
+    List<User> findByEmailIn(Collection<String> emails);
+}
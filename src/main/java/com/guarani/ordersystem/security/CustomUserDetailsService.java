@@ -3,6 +3,7 @@ package com.guarani.ordersystem.security;
 import com.guarani.ordersystem.entity.User;
 import com.guarani.ordersystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -21,17 +22,32 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = findUser(email);
+        return toUserDetails(user, user.getPassword());
+    }
+
+    // Usado pelo filtro JWT a cada requisição: o principal fica em cache por pouco tempo
+    // e sem o hash da senha, que só é necessário no login
+    @Cacheable(cacheNames = "principals", key = "#email")
+    @Transactional(readOnly = true)
+    public UserDetails loadPrincipalByUsername(String email) throws UsernameNotFoundException {
+        return toUserDetails(findUser(email), "");
+    }
+
+    private User findUser(String email) {
+        return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
+    }
 
+    private UserDetails toUserDetails(User user, String password) {
         var authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
                 .collect(Collectors.toList());
 
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
-                user.getPassword(),
+                password,
                 authorities
         );
     }
-}
\ No newline at end of file
+}
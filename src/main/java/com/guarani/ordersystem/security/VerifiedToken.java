@@ -0,0 +1,24 @@
+package com.guarani.ordersystem.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+
+// Resultado de um único parse + verificação de assinatura do JWT
+@Value
+public class VerifiedToken {
+
+    String subject;
+    Date issuedAt;
+    Date expiration;
+    Claims claims;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    public boolean isValidFor(String username) {
+        return subject != null && subject.equals(username) && !isExpired();
+    }
+}
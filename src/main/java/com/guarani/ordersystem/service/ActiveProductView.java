@@ -0,0 +1,115 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import com.guarani.ordersystem.repository.ProductRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Base dos estados em memória derivados dos produtos ativos (CatalogIndex, LowStockTracker). A recarga lê os
+// produtos do banco em lotes por keyset sem o lock de escrita; os eventos pós-commit recebidos durante a
+// leitura são aplicados ao estado atual e reaplicados sobre o novo antes da troca. Os eventos chegam em
+// threads diferentes e podem vir fora da ordem dos commits: as subclasses descartam os de versão anterior
+// à do produto em memória (isOlder)
+public abstract class ActiveProductView {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Não nulo durante uma recarga
+    private List<Object> pendingEvents;
+
+    protected ActiveProductView(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // Lock que protege o estado da subclasse
+    protected abstract Lock writeLock();
+
+    // load monta o estado novo a partir dos produtos ativos, sem o lock; install o instala com o lock,
+    // recebendo os eventos a reaplicar. Recargas simultâneas são serializadas
+    protected <S> S reload(Function<List<ProductResponse>, S> load, BiConsumer<S, List<Object>> install) {
+        rebuildLock.lock();
+        try {
+            Lock lock = writeLock();
+            lock.lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            S loaded = null;
+            try {
+                loaded = load.apply(loadActiveProducts());
+            } finally {
+                lock.lock();
+                try {
+                    if (loaded != null) {
+                        install.accept(loaded, pendingEvents);
+                    }
+                    pendingEvents = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return loaded;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Aplica o evento ao estado atual com o lock e o guarda para a recarga em andamento, se houver
+    protected void applyAndRecord(Object event, Consumer<Object> apply) {
+        Lock lock = writeLock();
+        lock.lock();
+        try {
+            apply.accept(event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<ProductResponse> loadActiveProducts() {
+        List<ProductResponse> products = new ArrayList<>();
+        long afterId = 0L;
+        List<ProductResponse> batch;
+        do {
+            batch = productRepository.findActiveResponsesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            products.addAll(batch);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        return products;
+    }
+
+    protected static boolean isOlder(Long version, Long currentVersion) {
+        return version != null && currentVersion != null && version < currentVersion;
+    }
+
+    // As instâncias são compartilhadas com leitores: substituir em vez de alterar
+    protected static ProductResponse withStock(ProductResponse current, ProductStockChangedEvent.Stock stock) {
+        return current.toBuilder()
+                .stockQuantity(stock.quantity())
+                .version(stock.version())
+                .build();
+    }
+
+    protected static String normalizeCategory(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+}
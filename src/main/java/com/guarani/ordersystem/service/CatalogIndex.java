@@ -0,0 +1,397 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.CatalogSearchResponse;
+import com.guarani.ordersystem.dto.CatalogSearchResponse.CategoryFacet;
+import com.guarani.ordersystem.dto.CatalogSearchResponse.PriceRangeFacet;
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.util.CursorUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice em memória dos produtos ativos para filtros e facetas do catálogo sem consultar o banco.
+// Cada produto recebe um docId denso; as categorias são bitmaps de docIds e os preços (em centavos)
+// ficam em arrays primitivos ordenados. Mantido incrementalmente pelos eventos de ProductService
+// e recarregado periodicamente do banco (app.catalog.resync-interval).
+@Slf4j
+@Service
+public class CatalogIndex extends ActiveProductView {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Limites inferiores das faixas de preço em centavos; a última faixa é aberta
+    private static final long[] PRICE_RANGE_BOUNDS = {0, 5_000, 10_000, 25_000, 50_000, 100_000, 500_000};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    public CatalogIndex(ProductRepository productRepository) {
+        super(productRepository);
+    }
+
+    public enum Sort {
+        DEFAULT, PRICE_ASC, PRICE_DESC;
+
+        public static Sort from(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return DEFAULT;
+            }
+            try {
+                return Sort.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Ordenação de catálogo inválida: " + value);
+            }
+        }
+    }
+
+    // Carga na inicialização e recarga periódica, que absorve alterações feitas por outras instâncias.
+    // O banco é lido sem bloquear as buscas; só a troca do índice usa o lock de escrita
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.catalog.resync-interval:10m}",
+            fixedDelayString = "${app.catalog.resync-interval:10m}")
+    public void rebuild() {
+        Index loaded = reload(products -> {
+            Index built = new Index();
+            built.bulkLoad(products);
+            return built;
+        }, (built, pendingEvents) -> {
+            for (Object event : pendingEvents) {
+                apply(built, event);
+            }
+            index = built;
+        });
+        log.info("Índice do catálogo carregado com {} produtos ativos", loaded.docIdByProductId.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        applyAndRecord(event, e -> apply(index, e));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        applyAndRecord(event, e -> apply(index, e));
+    }
+
+    public CatalogSearchResponse search(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                        Sort sort, int page, int size) {
+        int pageSize = CursorUtils.normalizeSize(size);
+        // long: páginas muito altas estourariam int e voltariam ao início com deslocamento negativo
+        long offset = (long) Math.max(page, 0) * pageSize;
+        long minCents = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long maxCents = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            BitSet priceBits = priceFiltered ? current.priceRange(minCents, maxCents) : current.live;
+            BitSet categoryBits = category != null && !category.trim().isEmpty()
+                    ? current.postingsByCategory.getOrDefault(normalizeCategory(category), new BitSet())
+                    : current.live;
+
+            BitSet matches = (BitSet) priceBits.clone();
+            matches.and(categoryBits);
+
+            // Cada faceta ignora o próprio filtro: categorias contam com o filtro de preço e vice-versa
+            return CatalogSearchResponse.builder()
+                    .content(current.page(matches, sort, minCents, maxCents, offset, pageSize))
+                    .currentPage(Math.max(page, 0))
+                    .pageSize(pageSize)
+                    .totalElements(matches.cardinality())
+                    .categoryFacets(current.categoryFacets(priceBits, priceFiltered))
+                    .priceRangeFacets(current.priceRangeFacets(categoryBits == current.live ? null : categoryBits))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docIdByProductId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Lock writeLock() {
+        return lock.writeLock();
+    }
+
+    // Um evento com versão anterior à do documento indexado é descartado. Reaplicar um evento já refletido
+    // na leitura do banco não altera o resultado
+    private static void apply(Index target, Object event) {
+        if (event instanceof ProductChangedEvent changed) {
+            ProductResponse product = changed.getProduct();
+            Integer docId = target.docIdByProductId.get(product.getId());
+            if (docId != null && isOlder(product.getVersion(), target.documents[docId].getVersion())) {
+                return;
+            }
+            target.remove(product.getId());
+            if (Boolean.TRUE.equals(product.getActive())) {
+                target.add(product);
+            }
+        } else if (event instanceof ProductStockChangedEvent stockChanged) {
+            stockChanged.getStockLevels().forEach((productId, stock) -> {
+                Integer docId = target.docIdByProductId.get(productId);
+                if (docId != null) {
+                    ProductResponse current = target.documents[docId];
+                    if (isOlder(stock.version(), current.getVersion())) {
+                        return;
+                    }
+                    target.documents[docId] = withStock(current, stock);
+                }
+            });
+        }
+    }
+
+    // Estruturas do índice: trocadas inteiras na recarga e alteradas com o lock de escrita
+    private static final class Index {
+
+        private ProductResponse[] documents = new ProductResponse[INITIAL_CAPACITY];
+        private int documentCount;
+        private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        private final Map<Long, Integer> docIdByProductId = new HashMap<>();
+        private final Map<String, BitSet> postingsByCategory = new HashMap<>();
+        private final Map<String, String> categoryLabels = new HashMap<>();
+
+        private long[] sortedPrices = new long[INITIAL_CAPACITY];
+        private int[] sortedDocIds = new int[INITIAL_CAPACITY];
+        private int priceCount;
+
+        private List<ProductResponse> page(BitSet matches, Sort sort, long minCents, long maxCents,
+                                           long offset, int pageSize) {
+            List<ProductResponse> content = new ArrayList<>(pageSize);
+            long skipped = 0;
+            if (sort == Sort.DEFAULT) {
+                for (int docId = matches.nextSetBit(0); docId >= 0 && content.size() < pageSize;
+                     docId = matches.nextSetBit(docId + 1)) {
+                    if (skipped++ >= offset) {
+                        content.add(documents[docId]);
+                    }
+                }
+                return content;
+            }
+
+            // Percorre apenas a fatia do array de preços dentro do filtro, já na ordem pedida
+            int from = lowerBound(minCents);
+            int to = upperBound(maxCents);
+            boolean ascending = sort == Sort.PRICE_ASC;
+            for (int i = 0; i < to - from && content.size() < pageSize; i++) {
+                int docId = sortedDocIds[ascending ? from + i : to - 1 - i];
+                if (matches.get(docId) && skipped++ >= offset) {
+                    content.add(documents[docId]);
+                }
+            }
+            return content;
+        }
+
+        private List<CategoryFacet> categoryFacets(BitSet priceBits, boolean priceFiltered) {
+            List<CategoryFacet> facets = new ArrayList<>(postingsByCategory.size());
+            postingsByCategory.forEach((key, postings) -> {
+                long count;
+                if (priceFiltered) {
+                    BitSet intersection = (BitSet) postings.clone();
+                    intersection.and(priceBits);
+                    count = intersection.cardinality();
+                } else {
+                    count = postings.cardinality();
+                }
+                if (count > 0) {
+                    facets.add(new CategoryFacet(categoryLabels.get(key), count));
+                }
+            });
+            facets.sort(Comparator.comparingLong(CategoryFacet::getCount).reversed()
+                    .thenComparing(CategoryFacet::getCategory));
+            return facets;
+        }
+
+        private List<PriceRangeFacet> priceRangeFacets(BitSet categoryBits) {
+            List<PriceRangeFacet> facets = new ArrayList<>(PRICE_RANGE_BOUNDS.length);
+            for (int range = 0; range < PRICE_RANGE_BOUNDS.length; range++) {
+                boolean last = range == PRICE_RANGE_BOUNDS.length - 1;
+                int from = lowerBound(PRICE_RANGE_BOUNDS[range]);
+                int to = last ? priceCount : lowerBound(PRICE_RANGE_BOUNDS[range + 1]);
+
+                long count;
+                if (categoryBits == null) {
+                    count = to - from;
+                } else {
+                    count = 0;
+                    for (int i = from; i < to; i++) {
+                        if (categoryBits.get(sortedDocIds[i])) {
+                            count++;
+                        }
+                    }
+                }
+
+                facets.add(new PriceRangeFacet(
+                        BigDecimal.valueOf(PRICE_RANGE_BOUNDS[range], 2),
+                        last ? null : BigDecimal.valueOf(PRICE_RANGE_BOUNDS[range + 1], 2),
+                        count));
+            }
+            return facets;
+        }
+
+        private BitSet priceRange(long minCents, long maxCents) {
+            BitSet bits = new BitSet(documentCount);
+            int to = upperBound(maxCents);
+            for (int i = lowerBound(minCents); i < to; i++) {
+                bits.set(sortedDocIds[i]);
+            }
+            return bits;
+        }
+
+        private void add(ProductResponse product) {
+            int docId = freeDocIds.isEmpty() ? documentCount++ : freeDocIds.pop();
+            if (docId >= documents.length) {
+                documents = Arrays.copyOf(documents, documents.length * 2);
+            }
+            documents[docId] = product;
+            live.set(docId);
+            docIdByProductId.put(product.getId(), docId);
+
+            String key = normalizeCategory(product.getCategory());
+            postingsByCategory.computeIfAbsent(key, k -> new BitSet()).set(docId);
+            categoryLabels.put(key, product.getCategory());
+
+            long cents = toCents(product.getPrice(), RoundingMode.HALF_UP);
+            int position = upperBound(cents);
+            ensurePriceCapacity(priceCount + 1);
+            System.arraycopy(sortedPrices, position, sortedPrices, position + 1, priceCount - position);
+            System.arraycopy(sortedDocIds, position, sortedDocIds, position + 1, priceCount - position);
+            sortedPrices[position] = cents;
+            sortedDocIds[position] = docId;
+            priceCount++;
+        }
+
+        private void remove(Long productId) {
+            Integer docId = docIdByProductId.remove(productId);
+            if (docId == null) {
+                return;
+            }
+            ProductResponse product = documents[docId];
+
+            String key = normalizeCategory(product.getCategory());
+            BitSet postings = postingsByCategory.get(key);
+            postings.clear(docId);
+            if (postings.isEmpty()) {
+                postingsByCategory.remove(key);
+                categoryLabels.remove(key);
+            }
+
+            long cents = toCents(product.getPrice(), RoundingMode.HALF_UP);
+            for (int i = lowerBound(cents); i < priceCount && sortedPrices[i] == cents; i++) {
+                if (sortedDocIds[i] == docId) {
+                    System.arraycopy(sortedPrices, i + 1, sortedPrices, i, priceCount - i - 1);
+                    System.arraycopy(sortedDocIds, i + 1, sortedDocIds, i, priceCount - i - 1);
+                    priceCount--;
+                    break;
+                }
+            }
+
+            documents[docId] = null;
+            live.clear(docId);
+            freeDocIds.push(docId);
+        }
+
+        private void bulkLoad(List<ProductResponse> products) {
+            int count = products.size();
+            documents = new ProductResponse[Math.max(INITIAL_CAPACITY, count)];
+            long[] prices = new long[count];
+            Integer[] order = new Integer[count];
+
+            for (int docId = 0; docId < count; docId++) {
+                ProductResponse product = products.get(docId);
+                documents[docId] = product;
+                live.set(docId);
+                docIdByProductId.put(product.getId(), docId);
+                String key = normalizeCategory(product.getCategory());
+                postingsByCategory.computeIfAbsent(key, k -> new BitSet()).set(docId);
+                categoryLabels.put(key, product.getCategory());
+                prices[docId] = toCents(product.getPrice(), RoundingMode.HALF_UP);
+                order[docId] = docId;
+            }
+            documentCount = count;
+
+            // Ordenação única na carga em vez de inserções ordenadas uma a uma
+            Arrays.sort(order, Comparator.comparingLong(docId -> prices[docId]));
+            sortedPrices = new long[Math.max(INITIAL_CAPACITY, count)];
+            sortedDocIds = new int[Math.max(INITIAL_CAPACITY, count)];
+            for (int i = 0; i < count; i++) {
+                sortedPrices[i] = prices[order[i]];
+                sortedDocIds[i] = order[i];
+            }
+            priceCount = count;
+        }
+
+        private void ensurePriceCapacity(int capacity) {
+            if (capacity > sortedPrices.length) {
+                int newLength = Math.max(capacity, sortedPrices.length * 2);
+                sortedPrices = Arrays.copyOf(sortedPrices, newLength);
+                sortedDocIds = Arrays.copyOf(sortedDocIds, newLength);
+            }
+        }
+
+        // Primeira posição com preço >= cents
+        private int lowerBound(long cents) {
+            int low = 0;
+            int high = priceCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedPrices[mid] < cents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Primeira posição com preço > cents
+        private int upperBound(long cents) {
+            int low = 0;
+            int high = priceCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedPrices[mid] <= cents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+}
@@ -0,0 +1,48 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.CategoryResponse;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.exception.ResourceNotFoundException;
+import com.guarani.ordersystem.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@CacheConfig(cacheNames = "categories")
+public class CategoryService {
+
+    private final ProductRepository productRepository;
+
+    @Cacheable(key = "'all'")
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> findAll() {
+        log.info("Buscando resumo das categorias de produtos");
+        return List.copyOf(productRepository.summarizeActiveCategories());
+    }
+
+    @Cacheable(key = "#category.toLowerCase()")
+    @Transactional(readOnly = true)
+    public CategoryResponse findByCategory(String category) {
+        log.info("Buscando resumo da categoria: {}", category);
+        return productRepository.summarizeActiveCategory(category)
+                .orElseThrow(() -> new ResourceNotFoundException("Categoria", "nome", category));
+    }
+
+    // Criação, atualização e exclusão de produtos alteram contagens e faixas de preço;
+    // a invalidação ocorre após o commit para não repovoar o cache com dados ainda não confirmados
+    @CacheEvict(allEntries = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        log.debug("Invalidando cache de categorias após alteração do produto ID: {}", event.getProduct().getId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.guarani.ordersystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Publicador local: acrescenta cada evento como uma linha JSON (NDJSON) em um arquivo,
+// útil para testar consumidores sem um broker
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.outbox.publisher", havingValue = "file")
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxPublisher(ObjectMapper objectMapper,
+                               @Value("${app.outbox.file.path:logs/order-events.ndjson}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        log.info("Eventos de pedido publicados em {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(OrderOutboxEvent event) {
+        try {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("id", event.getId());
+            line.put("order_id", event.getOrderId());
+            line.put("event_type", event.getEventType().name());
+            line.put("created_at", event.getCreatedAt().toString());
+            line.set("payload", objectMapper.readTree(event.getPayload()));
+
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, objectMapper.writeValueAsString(line) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido no evento " + event.getId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar evento " + event.getId() + " em " + path, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Publicador padrão para desenvolvimento e testes: escreve cada evento no logger de eventos de pedido
+@Service
+@ConditionalOnProperty(name = "app.outbox.publisher", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxPublisher implements OutboxPublisher {
+
+    private static final Logger EVENTS = LoggerFactory.getLogger("com.guarani.ordersystem.outbox");
+
+    @Override
+    public void publish(OrderOutboxEvent event) {
+        EVENTS.info("Evento {} {} do pedido {}: {}",
+                event.getId(), event.getEventType(), event.getOrderId(), event.getPayload());
+    }
+}
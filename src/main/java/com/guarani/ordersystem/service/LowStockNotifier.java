@@ -0,0 +1,46 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.event.LowStockAlertEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Notificação padrão dos cruzamentos de limite de estoque: log de alertas e métricas para o
+// monitoramento (stock.low.products como gauge, stock.low.alerts por direção). Outros canais
+// (e-mail, webhook) podem escutar o mesmo LowStockAlertEvent.
+@Service
+@RequiredArgsConstructor
+public class LowStockNotifier {
+
+    private static final Logger ALERTS = LoggerFactory.getLogger("com.guarani.ordersystem.alerts");
+
+    private final LowStockTracker lowStockTracker;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerGauge() {
+        Gauge.builder("stock.low.products", lowStockTracker, LowStockTracker::lowStockCount)
+                .description("Produtos ativos com estoque abaixo do limite")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onLowStockAlert(LowStockAlertEvent event) {
+        ProductResponse product = event.getProduct();
+        if (event.isBelowThreshold()) {
+            ALERTS.warn("Estoque baixo: produto {} ({}) com {} unidades, limite {}",
+                    product.getId(), product.getName(), product.getStockQuantity(), event.getThreshold());
+        } else {
+            ALERTS.info("Estoque normalizado: produto {} ({}) com {} unidades, limite {}",
+                    product.getId(), product.getName(), product.getStockQuantity(), event.getThreshold());
+        }
+        meterRegistry.counter("stock.low.alerts",
+                "direction", event.isBelowThreshold() ? "below" : "recovered").increment();
+    }
+}
@@ -0,0 +1,272 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.entity.StockAlertThreshold;
+import com.guarani.ordersystem.event.LowStockAlertEvent;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import com.guarani.ordersystem.exception.ResourceNotFoundException;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.StockAlertThresholdRepository;
+import com.guarani.ordersystem.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Conjunto de produtos ativos com estoque abaixo do limite, mantido em memória pelos eventos de
+// ProductService: cada movimentação reavalia só os produtos afetados e publica LowStockAlertEvent quando
+// um deles cruza o limite. A leitura devolve uma lista imutável já pronta, sem consultar o banco.
+// Limites: do produto, da categoria ou app.low-stock.default-threshold, nessa ordem.
+@Slf4j
+@Service
+public class LowStockTracker extends ActiveProductView {
+
+    private final ProductRepository productRepository;
+    private final StockAlertThresholdRepository thresholdRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.low-stock.default-threshold:10}")
+    private int defaultThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, ProductResponse> products = new HashMap<>();
+    private final Map<Long, Integer> productThresholds = new HashMap<>();
+    private final Map<String, Integer> categoryThresholds = new HashMap<>();
+    private final TreeSet<Long> lowStock = new TreeSet<>();
+
+    private volatile List<ProductResponse> snapshot = List.of();
+
+    public LowStockTracker(ProductRepository productRepository, StockAlertThresholdRepository thresholdRepository,
+                           ApplicationEventPublisher eventPublisher) {
+        super(productRepository);
+        this.productRepository = productRepository;
+        this.thresholdRepository = thresholdRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record Loaded(List<StockAlertThreshold> thresholds, List<ProductResponse> active) {
+    }
+
+    // category já normalizada; productId nulo para limites de categoria
+    private record ThresholdChange(Long productId, String category, Integer threshold) {
+
+        boolean affects(ProductResponse product) {
+            return productId != null
+                    ? productId.equals(product.getId())
+                    : category.equals(normalizeCategory(product.getCategory()));
+        }
+    }
+
+    // Recarga completa na inicialização e periodicamente: absorve movimentações feitas por outras
+    // instâncias da aplicação, sem alertas (quem processou a movimentação já alertou)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.low-stock.resync-interval:10m}",
+            fixedDelayString = "${app.low-stock.resync-interval:10m}")
+    public void rebuild() {
+        Loaded loaded = reload(active -> new Loaded(thresholdRepository.findAll(), active), this::replaceState);
+        log.info("Monitor de estoque baixo carregado: {} produtos ativos, {} abaixo do limite",
+                loaded.active().size(), snapshot.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        applyChange(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        applyChange(event);
+    }
+
+    public List<ProductResponse> findLowStockProducts() {
+        return snapshot;
+    }
+
+    public int lowStockCount() {
+        return snapshot.size();
+    }
+
+    // Leitura, gravação e remoção do limite em uma transação; o estado em memória muda só após o commit
+    @Transactional
+    public void setProductThreshold(Long productId, Integer threshold) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Produto", "id", productId);
+        }
+        StockAlertThreshold entity = thresholdRepository.findByProductId(productId).orElse(null);
+        saveOrDelete(entity, threshold, e -> e.setProductId(productId));
+        log.info("Limite de estoque baixo do produto ID: {} definido como {}", productId, threshold);
+
+        TransactionUtils.afterCommit(() -> applyChange(new ThresholdChange(productId, null, threshold)));
+    }
+
+    @Transactional
+    public void setCategoryThreshold(String category, Integer threshold) {
+        StockAlertThreshold entity = thresholdRepository.findByCategoryIgnoreCase(category.trim()).orElse(null);
+        saveOrDelete(entity, threshold, e -> e.setCategory(category.trim()));
+        log.info("Limite de estoque baixo da categoria {} definido como {}", category, threshold);
+
+        TransactionUtils.afterCommit(() ->
+                applyChange(new ThresholdChange(null, normalizeCategory(category), threshold)));
+    }
+
+    private void saveOrDelete(StockAlertThreshold entity, Integer threshold,
+                              Consumer<StockAlertThreshold> scope) {
+        if (threshold == null) {
+            if (entity != null) {
+                thresholdRepository.delete(entity);
+            }
+            return;
+        }
+        if (entity == null) {
+            entity = new StockAlertThreshold();
+            scope.accept(entity);
+        }
+        entity.setThreshold(threshold);
+        thresholdRepository.save(entity);
+    }
+
+    @Override
+    protected Lock writeLock() {
+        return lock;
+    }
+
+    // Chamado com o lock. As mudanças recebidas durante a leitura podem não estar nela: reaplicadas sem
+    // alertas, que já foram publicados quando chegaram
+    private void replaceState(Loaded loaded, List<Object> pendingChanges) {
+        products.clear();
+        productThresholds.clear();
+        categoryThresholds.clear();
+        lowStock.clear();
+        for (StockAlertThreshold threshold : loaded.thresholds()) {
+            if (threshold.getProductId() != null) {
+                productThresholds.put(threshold.getProductId(), threshold.getThreshold());
+            } else {
+                categoryThresholds.put(normalizeCategory(threshold.getCategory()), threshold.getThreshold());
+            }
+        }
+        for (ProductResponse product : loaded.active()) {
+            products.put(product.getId(), product);
+            if (isLow(product)) {
+                lowStock.add(product.getId());
+            }
+        }
+        List<LowStockAlertEvent> replayed = new ArrayList<>();
+        for (Object change : pendingChanges) {
+            apply(change, replayed);
+        }
+        refreshSnapshot();
+    }
+
+    private void applyChange(Object change) {
+        List<LowStockAlertEvent> alerts = new ArrayList<>();
+        applyAndRecord(change, c -> {
+            // Produtos com estoque normal antes e depois não alteram a lista publicada
+            if (apply(c, alerts)) {
+                refreshSnapshot();
+            }
+        });
+        alerts.forEach(eventPublisher::publishEvent);
+    }
+
+    // Chamado com o lock; retorna se a lista de estoque baixo pode ter mudado. Eventos com versão anterior
+    // à do produto em memória são descartados
+    private boolean apply(Object change, List<LowStockAlertEvent> alerts) {
+        if (change instanceof ProductStockChangedEvent event) {
+            boolean changed = false;
+            for (Map.Entry<Long, ProductStockChangedEvent.Stock> entry : event.getStockLevels().entrySet()) {
+                ProductResponse current = products.get(entry.getKey());
+                ProductStockChangedEvent.Stock stock = entry.getValue();
+                if (current != null && !isOlder(stock.version(), current.getVersion())) {
+                    ProductResponse updated = withStock(current, stock);
+                    products.put(entry.getKey(), updated);
+                    changed |= evaluate(updated, alerts);
+                }
+            }
+            return changed;
+        }
+        if (change instanceof ProductChangedEvent event) {
+            ProductResponse product = event.getProduct();
+            ProductResponse current = products.get(product.getId());
+            if (current != null && isOlder(product.getVersion(), current.getVersion())) {
+                return false;
+            }
+            if (Boolean.TRUE.equals(product.getActive())) {
+                products.put(product.getId(), product);
+                evaluate(product, alerts);
+            } else {
+                // Produto desativado sai do monitoramento sem alerta
+                products.remove(product.getId());
+                lowStock.remove(product.getId());
+            }
+            return true;
+        }
+        // Mudanças de limite são raras: reavaliar os produtos afetados percorrendo o mapa em memória é suficiente
+        ThresholdChange thresholdChange = (ThresholdChange) change;
+        if (thresholdChange.productId() != null) {
+            putOrRemove(productThresholds, thresholdChange.productId(), thresholdChange.threshold());
+        } else {
+            putOrRemove(categoryThresholds, thresholdChange.category(), thresholdChange.threshold());
+        }
+        for (ProductResponse product : products.values()) {
+            if (thresholdChange.affects(product)) {
+                evaluate(product, alerts);
+            }
+        }
+        return true;
+    }
+
+    private static <K> void putOrRemove(Map<K, Integer> thresholds, K key, Integer threshold) {
+        if (threshold == null) {
+            thresholds.remove(key);
+        } else {
+            thresholds.put(key, threshold);
+        }
+    }
+
+    // Retorna se o produto está ou estava na lista de estoque baixo
+    private boolean evaluate(ProductResponse product, List<LowStockAlertEvent> alerts) {
+        int threshold = thresholdFor(product);
+        boolean low = product.getStockQuantity() < threshold;
+        boolean wasLow = low ? !lowStock.add(product.getId()) : lowStock.remove(product.getId());
+        if (low != wasLow) {
+            alerts.add(new LowStockAlertEvent(product, threshold, low));
+        }
+        return low || wasLow;
+    }
+
+    private boolean isLow(ProductResponse product) {
+        return product.getStockQuantity() < thresholdFor(product);
+    }
+
+    private int thresholdFor(ProductResponse product) {
+        Integer threshold = productThresholds.get(product.getId());
+        if (threshold == null) {
+            threshold = categoryThresholds.get(normalizeCategory(product.getCategory()));
+        }
+        return threshold != null ? threshold : defaultThreshold;
+    }
+
+    // Chamado com o lock: a lista publicada é imutável e trocada inteira
+    private void refreshSnapshot() {
+        List<ProductResponse> low = new ArrayList<>(lowStock.size());
+        for (Long productId : lowStock) {
+            low.add(products.get(productId));
+        }
+        snapshot = List.copyOf(low);
+    }
+}
@@ -0,0 +1,230 @@
+package com.guarani.ordersystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String CSV_HEADER = "id,user_email,user_name,status,payment_method,payment_status," +
+            "total_amount,items_count,total_quantity,transaction_id,created_at,updated_at";
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Formato de exportação inválido: " + value);
+            }
+        }
+    }
+
+    // Percorre os pedidos com um cursor somente leitura e escreve cada linha direto no stream de saída;
+    // a cada bloco os itens são carregados de uma vez e o contexto de persistência é limpo,
+    // mantendo o uso de memória constante independentemente do total exportado.
+    // A resposta termina com um marcador de status: COMPLETE com o total exportado ou ABORTED quando
+    // uma falha ocorre depois que o status 200 e as primeiras linhas já foram enviados;
+    // sem o marcador COMPLETE o cliente deve tratar o arquivo como incompleto
+    @Transactional(readOnly = true)
+    public long export(OrderStatus status, Format format, OutputStream output) throws IOException {
+        log.info("Exportando pedidos - status: {}, formato: {}", status, format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? csvWriter(writer) : ndjsonWriter(writer);
+
+        long exported = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(status)) {
+            List<Order> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    exported += writeChunk(chunk, rowWriter);
+                }
+            }
+            exported += writeChunk(chunk, rowWriter);
+        } catch (IOException | RuntimeException e) {
+            abort(format, rowWriter, writer, e);
+            throw e;
+        }
+
+        rowWriter.complete(exported);
+        rowWriter.flush();
+        writer.flush();
+        log.info("Exportação concluída: {} pedidos", exported);
+        return exported;
+    }
+
+    // Melhor esforço: se a falha veio do próprio stream (cliente desconectado), o marcador não tem
+    // como ser entregue e o erro de escrita fica anexado à causa original
+    private void abort(Format format, RowWriter rowWriter, Writer writer, Exception cause) {
+        meterRegistry.counter("orders.export.aborted", "format", format.getExtension()).increment();
+        log.error("Exportação interrompida - formato: {}: {}", format, cause.getMessage(), cause);
+        try {
+            rowWriter.abort();
+            rowWriter.flush();
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private int writeChunk(List<Order> chunk, RowWriter rowWriter) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        orderRepository.fetchItemsByIdIn(chunk.stream().map(Order::getId).toList());
+        for (Order order : chunk) {
+            rowWriter.write(orderService.mapToOrderResponse(order));
+        }
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+
+    private RowWriter ndjsonWriter(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(null);
+        ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return new RowWriter() {
+            @Override
+            public void write(OrderResponse order) throws IOException {
+                objectWriter.writeValue(generator, order);
+                generator.writeRaw('\n');
+            }
+
+            // Marcadores escritos em bruto, sem depender do estado do gerador após uma falha
+            @Override
+            public void complete(long exported) throws IOException {
+                generator.writeRaw("{\"exportStatus\":\"COMPLETE\",\"exported\":" + exported + "}\n");
+            }
+
+            @Override
+            public void abort() throws IOException {
+                generator.writeRaw("{\"exportStatus\":\"ABORTED\"}\n");
+            }
+
+            // O gerador mantém o próprio buffer: sem esvaziá-lo as últimas linhas não chegam ao writer
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    private RowWriter csvWriter(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return new RowWriter() {
+            @Override
+            public void write(OrderResponse order) throws IOException {
+                int totalQuantity = order.getItems().stream()
+                        .mapToInt(OrderResponse.OrderItemResponse::getQuantity)
+                        .sum();
+                writer.write(String.join(",",
+                        String.valueOf(order.getId()),
+                        csv(order.getUserEmail()),
+                        csv(order.getUserName()),
+                        csv(order.getStatus()),
+                        csv(order.getPaymentMethod()),
+                        csv(order.getPaymentStatus()),
+                        csv(order.getTotalAmount() != null ? order.getTotalAmount().toPlainString() : null),
+                        String.valueOf(order.getItems().size()),
+                        String.valueOf(totalQuantity),
+                        csv(order.getTransactionId()),
+                        csv(order.getCreatedAt()),
+                        csv(order.getUpdatedAt())));
+                writer.write('\n');
+            }
+
+            // Marcadores como linha de comentário após os dados: leitores de CSV que não a reconhecem a veem como uma linha a mais
+            @Override
+            public void complete(long exported) throws IOException {
+                writer.write("#export_status=COMPLETE,exported=" + exported);
+                writer.write('\n');
+            }
+
+            @Override
+            public void abort() throws IOException {
+                writer.write("#export_status=ABORTED");
+                writer.write('\n');
+            }
+        };
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private interface RowWriter {
+        void write(OrderResponse order) throws IOException;
+
+        void complete(long exported) throws IOException;
+
+        void abort() throws IOException;
+
+        default void flush() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.BulkOrderRequest;
+import com.guarani.ordersystem.dto.BulkOrderResponse;
+import com.guarani.ordersystem.dto.BulkOrderResponse.OrderResult;
+import com.guarani.ordersystem.dto.OrderRequest;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.exception.ResourceNotFoundException;
+import com.guarani.ordersystem.repository.OrderRepository;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Importação de pedidos de marketplaces: processa a requisição em blocos, cada bloco em sua própria
+// transação, com uma consulta de clientes, uma de produtos e uma baixa de estoque por produto para o
+// bloco inteiro. Falhas de validação afetam só o pedido em questão.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderImportService {
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final OrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.order-import.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.order-import.max-orders:5000}")
+    private int maxOrders;
+
+    public BulkOrderResponse importOrders(BulkOrderRequest request) {
+        List<BulkOrderRequest.OrderEntry> orders = request.getOrders();
+        if (orders.size() > maxOrders) {
+            throw new BusinessException("Importação limitada a " + maxOrders + " pedidos por requisição");
+        }
+        log.info("Importando {} pedidos em blocos de {}", orders.size(), chunkSize);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        for (int from = 0; from < orders.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, orders.size());
+            results.addAll(importChunk(orders, from, to, transactionTemplate));
+        }
+
+        BulkOrderResponse response = BulkOrderResponse.of(results);
+        log.info("Importação concluída: {} pedidos criados, {} com erro", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    private List<OrderResult> importChunk(List<BulkOrderRequest.OrderEntry> orders, int from, int to,
+                                          TransactionTemplate transactionTemplate) {
+        try {
+            return transactionTemplate.execute(status -> processChunk(orders, from, to));
+        } catch (RuntimeException e) {
+            // A baixa conjunta falhou (estoque consumido por outra transação após a validação):
+            // reprocessa o bloco pedido a pedido para isolar os que não podem ser atendidos
+            log.warn("Falha ao importar bloco de pedidos {} a {}, reprocessando individualmente: {}",
+                    from, to - 1, e.getMessage());
+            List<OrderResult> results = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                int single = index;
+                try {
+                    results.addAll(transactionTemplate.execute(status -> processChunk(orders, single, single + 1)));
+                } catch (RuntimeException singleFailure) {
+                    results.add(failure(single, orders.get(single), singleFailure));
+                }
+            }
+            return results;
+        }
+    }
+
+    private List<OrderResult> processChunk(List<BulkOrderRequest.OrderEntry> orders, int from, int to) {
+        List<BulkOrderRequest.OrderEntry> chunk = orders.subList(from, to);
+
+        Set<String> emails = chunk.stream()
+                .map(BulkOrderRequest.OrderEntry::getUserEmail)
+                .collect(Collectors.toSet());
+        Map<String, User> users = userRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        Set<Long> productIds = chunk.stream()
+                .flatMap(entry -> entry.getItems().stream())
+                .map(OrderRequest.OrderItemRequest::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        OrderResult[] results = new OrderResult[chunk.size()];
+        Map<Integer, Order> accepted = new LinkedHashMap<>();
+        Map<Integer, Map<Long, Integer>> acceptedQuantities = new HashMap<>();
+        Map<Long, Integer> reserved = new HashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkOrderRequest.OrderEntry entry = chunk.get(i);
+            try {
+                User user = users.get(entry.getUserEmail());
+                if (user == null) {
+                    throw new ResourceNotFoundException("Usuário", "email", entry.getUserEmail());
+                }
+
+                // Mesmas regras de OrderService.create, descontando o que os pedidos anteriores do bloco já reservaram
+                Map<Long, Integer> quantities = OrderService.aggregateQuantities(entry.getItems());
+                OrderService.validateItems(quantities, products, reserved);
+
+                accepted.put(i, OrderService.buildOrder(user, entry.getItems(), products));
+                acceptedQuantities.put(i, quantities);
+                quantities.forEach((productId, quantity) -> reserved.merge(productId, quantity, Integer::sum));
+            } catch (BusinessException | ResourceNotFoundException e) {
+                results[i] = failure(from + i, entry, e);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            orderRepository.saveAll(accepted.values());
+
+            // Baixa condicional única por produto para todo o bloco: se algum produto não tiver mais
+            // estoque suficiente, a transação do bloco inteiro é desfeita. O histórico registra cada pedido,
+            // com o mesmo motivo da criação unitária
+            List<ProductService.StockMovementGroup> sales = new ArrayList<>(accepted.size());
+            accepted.forEach((i, order) -> sales.add(new ProductService.StockMovementGroup(
+                    "Venda - Pedido " + order.getId(), acceptedQuantities.get(i))));
+            productService.updateStockBatch(sales, StockMovementType.SAIDA);
+        }
+
+        accepted.forEach((i, order) -> {
+            // Mesmos eventos da criação unitária, entregues só se o bloco for confirmado
+            eventPublisher.publishEvent(new OrderCreatedEvent(orderService.mapToOrderResponse(order)));
+            results[i] = OrderResult.builder()
+                    .index(from + i)
+                    .externalId(chunk.get(i).getExternalId())
+                    .success(true)
+                    .orderId(order.getId())
+                    .totalAmount(order.getTotalAmount())
+                    .build();
+        });
+        return Arrays.asList(results);
+    }
+
+    private static OrderResult failure(int index, BulkOrderRequest.OrderEntry entry, RuntimeException e) {
+        return OrderResult.builder()
+                .index(index)
+                .externalId(entry.getExternalId())
+                .success(false)
+                .error(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.event.OrderCancelledEvent;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.PaymentApprovedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Etapas não críticas do ciclo de vida do pedido: rodam no orderEventExecutor depois do commit,
+// fora da latência do checkout, assim como os deltas dos agregados de vendas (SalesRollupRecorder) e a cópia
+// do histórico de estoque (StockMovementRecorder). Estoque e mudança de status continuam na transação do pedido.
+// O cache de produtos não é reaquecido aqui: um put assíncrono poderia sobrescrever o estoque de uma
+// movimentação posterior; a próxima leitura recarrega a entrada removida após o commit.
+@Service
+@RequiredArgsConstructor
+public class OrderLifecycleListener {
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("com.guarani.ordersystem.audit");
+
+    private final MeterRegistry meterRegistry;
+
+    @Async("orderEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        OrderResponse order = event.getOrder();
+        AUDIT.info("Pedido {} criado para {}: {} itens, total {}",
+                order.getId(), order.getUserEmail(), order.getItems().size(), order.getTotalAmount());
+
+        meterRegistry.counter("orders.created").increment();
+        meterRegistry.summary("orders.amount").record(order.getTotalAmount().doubleValue());
+    }
+
+    @Async("orderEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentApproved(PaymentApprovedEvent event) {
+        OrderResponse order = event.getOrder();
+        AUDIT.info("Pagamento do pedido {} aprovado: {} via {}, transação {}",
+                order.getId(), order.getTotalAmount(), order.getPaymentMethod(), order.getTransactionId());
+
+        meterRegistry.counter("orders.payments.approved",
+                "method", String.valueOf(order.getPaymentMethod())).increment();
+    }
+
+    @Async("orderEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        OrderResponse order = event.getOrder();
+        AUDIT.info("Pedido {} cancelado; estoque de {} itens restaurado", order.getId(), order.getItems().size());
+
+        meterRegistry.counter("orders.cancelled").increment();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import com.guarani.ordersystem.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Entrega incremental dos eventos do outbox: cada ciclo reivindica lotes de eventos pendentes
+// (FOR UPDATE SKIP LOCKED, seguro com várias instâncias), entrega ao OutboxPublisher em ordem de id
+// e marca os publicados na mesma transação. Continua enquanto os lotes vierem cheios.
+// Um lote tem no máximo um evento por pedido (ver claimPending), então a ordem por pedido é garantida
+// entre instâncias; entre pedidos diferentes não há ordem garantida.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OutboxPublisher publisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention:7d}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1s}")
+    public void relay() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    int relayBatch() {
+        List<OrderOutboxEvent> batch = outboxRepository.claimPending(maxAttempts, PageRequest.of(0, batchSize));
+        LocalDateTime publishedAt = LocalDateTime.now();
+        int published = 0;
+        for (OrderOutboxEvent event : batch) {
+            try {
+                publisher.publish(event);
+            } catch (RuntimeException e) {
+                // Os demais eventos do lote são de outros pedidos e seguem; os posteriores deste pedido
+                // continuam bloqueados. Após max-attempts o evento fica registrado para análise
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(e.getMessage()));
+                log.warn("Falha ao publicar evento {} {} do pedido {} (tentativa {}/{}): {}",
+                        event.getId(), event.getEventType(), event.getOrderId(),
+                        event.getAttempts(), maxAttempts, e.getMessage());
+                continue;
+            }
+            event.setPublishedAt(publishedAt);
+            published++;
+        }
+        if (published > 0) {
+            log.debug("{} eventos de pedido publicados", published);
+        }
+        return published;
+    }
+
+    @Transactional
+    @Scheduled(cron = "${app.outbox.purge-cron:0 0 * * * *}")
+    public void purgePublished() {
+        int removed = outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("{} eventos publicados há mais de {} removidos do outbox", removed, retention);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,57 @@
+package com.guarani.ordersystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import com.guarani.ordersystem.entity.enums.OutboxEventType;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.OrderStatusChangedEvent;
+import com.guarani.ordersystem.event.PaymentApprovedEvent;
+import com.guarani.ordersystem.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Grava os eventos de pedido no outbox antes do commit, na mesma transação que alterou o pedido:
+// ou o pedido e o evento são confirmados juntos, ou nenhum dos dois. A entrega fica com o OrderOutboxRelay.
+// O flush antes do insert grava a alteração do pedido e trava a linha dele: uma transação concorrente no
+// mesmo pedido espera o commit desta antes de obter o id do próprio evento, que sai maior.
+@Service
+@RequiredArgsConstructor
+public class OrderOutboxWriter {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        append(OutboxEventType.ORDER_CREATED, event.getOrder(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPaymentApproved(PaymentApprovedEvent event) {
+        append(OutboxEventType.PAYMENT_APPROVED, event.getOrder(), event);
+    }
+
+    // Cobre também o cancelamento (status CANCELLED), sem um tipo de evento à parte
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        append(OutboxEventType.ORDER_STATUS_CHANGED, event.getOrder(), event);
+    }
+
+    private void append(OutboxEventType type, OrderResponse order, Object event) {
+        OrderOutboxEvent outboxEvent = new OrderOutboxEvent();
+        outboxEvent.setOrderId(order.getId());
+        outboxEvent.setEventType(type);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            // Propaga e desfaz a transação do pedido: um evento que não pode ser gravado não pode ser perdido
+            throw new IllegalStateException("Falha ao serializar evento " + type + " do pedido " + order.getId(), e);
+        }
+        outboxRepository.flush();
+        outboxRepository.save(outboxEvent);
+    }
+}
@@ -1,5 +1,7 @@
 package com.guarani.ordersystem.service;
 
+import com.guarani.ordersystem.config.RetryOnOptimisticLock;
+import com.guarani.ordersystem.dto.CursorPageResponse;
 import com.guarani.ordersystem.dto.OrderRequest;
 import com.guarani.ordersystem.dto.OrderResponse;
 import com.guarani.ordersystem.entity.*;
@@ -7,6 +9,10 @@ import com.guarani.ordersystem.entity.enums.OrderStatus;
 import com.guarani.ordersystem.entity.enums.PaymentMethod;
 import com.guarani.ordersystem.entity.enums.PaymentStatus;
 import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.event.OrderCancelledEvent;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.OrderStatusChangedEvent;
+import com.guarani.ordersystem.event.PaymentApprovedEvent;
 import com.guarani.ordersystem.exception.BusinessException;
 import com.guarani.ordersystem.exception.OrderProcessingException;
 import com.guarani.ordersystem.exception.ResourceNotFoundException;
@@ -14,21 +20,32 @@ import com.guarani.ordersystem.repository.OrderRepository;
 import com.guarani.ordersystem.repository.ProductRepository;
 import com.guarani.ordersystem.repository.UserRepository;
 import com.guarani.ordersystem.util.Constants;
+import com.guarani.ordersystem.util.CursorUtils;
 import com.guarani.ordersystem.util.SecurityUtils;
+import com.guarani.ordersystem.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -40,20 +57,28 @@ public class OrderService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ProductService productService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
+    // Não verifica permissão: o resultado vem do cache na maioria das chamadas. Quem expõe o pedido ao
+    // usuário deve chamar checkOrderAccessPermission sobre a resposta a cada leitura
     @Cacheable(key = "#id")
     @Transactional(readOnly = true)
     public OrderResponse findById(Long id) {
         log.info("Buscando pedido por ID: {}", id);
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido", "id", id));
-
-        // Verificar se o usuário tem permissão para ver o pedido
-        checkOrderAccessPermission(order);
-
         return mapToOrderResponse(order);
     }
 
+    // Verificar se o usuário tem permissão para ver o pedido
+    public void checkOrderAccessPermission(OrderResponse order) {
+        String currentUser = SecurityUtils.getCurrentUsername();
+        if (!order.getUserEmail().equals(currentUser) && !SecurityUtils.hasRole("ADMIN")) {
+            throw new BusinessException("Acesso negado para visualizar este pedido");
+        }
+    }
+
     @Transactional(readOnly = true)
     public Page<OrderResponse> findByUserEmail(String userEmail, Pageable pageable) {
         log.info("Buscando pedidos do usuário: {}", userEmail);
@@ -64,25 +89,56 @@ public class OrderService {
             throw new BusinessException("Acesso negado para visualizar pedidos de outros usuários");
         }
 
-        return orderRepository.findByUserEmail(userEmail, pageable)
-                .map(this::mapToOrderResponse);
+        return mapToOrderResponsePage(orderRepository.findByUserEmail(userEmail, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<OrderResponse> findByStatus(OrderStatus status, Pageable pageable) {
         log.info("Buscando pedidos por status: {}", status);
-        return orderRepository.findByStatus(status, pageable)
-                .map(this::mapToOrderResponse);
+        return mapToOrderResponsePage(orderRepository.findByStatus(status, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<OrderResponse> findAll(Pageable pageable) {
         log.info("Buscando todos os pedidos paginados");
-        return orderRepository.findAll(pageable)
-                .map(this::mapToOrderResponse);
+        return mapToOrderResponsePage(orderRepository.findAll(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderResponse> findAllByCursor(String cursor, int size) {
+        log.info("Buscando pedidos por cursor");
+        int pageSize = CursorUtils.normalizeSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (CursorUtils.isPresent(cursor)) {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findKeysetPageAfter(position.createdAt(), position.id(), limit);
+        } else {
+            orders = orderRepository.findFirstKeysetPage(limit);
+        }
+        return mapToCursorPage(orders, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderResponse> findByUserEmailByCursor(String userEmail, String cursor, int size) {
+        log.info("Buscando pedidos do usuário por cursor: {}", userEmail);
+        int pageSize = CursorUtils.normalizeSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (CursorUtils.isPresent(cursor)) {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findKeysetPageByUserEmailAfter(
+                    userEmail, position.createdAt(), position.id(), limit);
+        } else {
+            orders = orderRepository.findFirstKeysetPageByUserEmail(userEmail, limit);
+        }
+        return mapToCursorPage(orders, pageSize);
     }
 
-    @CacheEvict(allEntries = true)
+    // Gravado no cache só após o commit: o interceptor de cache envolve o de transação (CacheConfig)
+    @CachePut(key = "#result.id")
     @Transactional
     public OrderResponse create(OrderRequest request, String userEmail) {
         log.info("Criando novo pedido para usuário: {}", userEmail);
@@ -91,50 +147,28 @@ public class OrderService {
             User user = userRepository.findByEmail(userEmail)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário", "email", userEmail));
 
-            Order order = Order.builder()
-                    .user(user)
-                    .status(OrderStatus.PENDING)
-                    .paymentStatus(PaymentStatus.PENDING)
-                    .items(new ArrayList<>())
-                    .build();
+            // Carregar todos os produtos do pedido em uma única consulta
+            Map<Long, Integer> quantities = aggregateQuantities(request.getItems());
+            Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
 
-            // Processar itens do pedido
-            for (OrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-                Product product = productRepository.findById(itemRequest.getProductId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", itemRequest.getProductId()));
-
-                if (!product.getActive()) {
-                    throw new BusinessException("Produto não está disponível: " + product.getName());
-                }
-
-                if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                    throw new BusinessException("Estoque insuficiente para o produto: " + product.getName());
-                }
-
-                OrderItem orderItem = OrderItem.builder()
-                        .order(order)
-                        .product(product)
-                        .quantity(itemRequest.getQuantity())
-                        .unitPrice(product.getPrice())
-                        .build();
-                orderItem.calculateTotalPrice();
-
-                order.addItem(orderItem);
-
-                // Atualizar estoque
-                productService.updateStock(
-                        product.getId(),
-                        itemRequest.getQuantity(),
-                        StockMovementType.SAIDA,
-                        "Venda - Pedido " + order.getId()
-                );
-            }
+            // Validar disponibilidade e estoque sobre o snapshot carregado
+            validateItems(quantities, products, Map.of());
+            Order order = buildOrder(user, request.getItems(), products);
 
-            order.recalculateTotalAmount();
             Order savedOrder = orderRepository.save(order);
 
+            // Baixa de estoque condicional: falha se outro pedido consumiu o estoque após a validação
+            productService.updateStockBatch(
+                    quantities,
+                    StockMovementType.SAIDA,
+                    "Venda - Pedido " + savedOrder.getId()
+            );
+
             log.info("Pedido criado com ID: {}", savedOrder.getId());
-            return mapToOrderResponse(savedOrder);
+            OrderResponse response = mapToOrderResponse(savedOrder);
+            eventPublisher.publishEvent(new OrderCreatedEvent(response));
+            return response;
 
         } catch (Exception e) {
             log.error("Erro ao criar pedido para usuário {}: {}", userEmail, e.getMessage(), e);
@@ -143,7 +177,7 @@ public class OrderService {
         }
     }
 
-    @CacheEvict(key = "#id")
+    @RetryOnOptimisticLock
     @Transactional
     public OrderResponse updateStatus(Long id, OrderStatus newStatus) {
         log.info("Atualizando status do pedido ID: {} para {}", id, newStatus);
@@ -161,12 +195,20 @@ public class OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
+        evictOrderCache(id);
         log.info("Status do pedido ID: {} atualizado de {} para {}", id, oldStatus, newStatus);
 
-        return mapToOrderResponse(updatedOrder);
+        OrderResponse response = mapToOrderResponse(updatedOrder);
+        if (newStatus != oldStatus) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(response, oldStatus));
+        }
+        if (newStatus == OrderStatus.CANCELLED && oldStatus != OrderStatus.CANCELLED) {
+            eventPublisher.publishEvent(new OrderCancelledEvent(response));
+        }
+        return response;
     }
 
-    @CacheEvict(key = "#id")
+    @RetryOnOptimisticLock
     @Transactional
     public OrderResponse updatePaymentStatus(Long id, PaymentStatus paymentStatus, PaymentMethod paymentMethod, String transactionId) {
         log.info("Atualizando status de pagamento do pedido ID: {} para {}", id, paymentStatus);
@@ -174,6 +216,8 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido", "id", id));
 
+        PaymentStatus oldPaymentStatus = order.getPaymentStatus();
+        OrderStatus oldStatus = order.getStatus();
         order.setPaymentStatus(paymentStatus);
         order.setPaymentMethod(paymentMethod);
         order.setTransactionId(transactionId);
@@ -187,10 +231,20 @@ public class OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
-        return mapToOrderResponse(updatedOrder);
+        evictOrderCache(id);
+        OrderResponse response = mapToOrderResponse(updatedOrder);
+        if (paymentStatus == PaymentStatus.APPROVED && oldPaymentStatus != PaymentStatus.APPROVED) {
+            eventPublisher.publishEvent(new PaymentApprovedEvent(response));
+        }
+        if (updatedOrder.getStatus() != oldStatus) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(response, oldStatus));
+        }
+        return response;
     }
 
-    @CacheEvict(key = "#id")
+    // Um cancelamento concorrente do mesmo pedido conflita na versão: a nova tentativa relê o pedido já
+    // cancelado e é rejeitada, sem restaurar o estoque duas vezes
+    @RetryOnOptimisticLock
     @Transactional
     public void cancelOrder(Long id) {
         log.info("Cancelando pedido ID: {}", id);
@@ -202,32 +256,124 @@ public class OrderService {
             throw new BusinessException("Pedido não pode ser cancelado no status atual: " + order.getStatus());
         }
 
+        OrderStatus oldStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         restoreStockForOrder(order);
 
-        orderRepository.save(order);
+        Order cancelledOrder = orderRepository.save(order);
+        evictOrderCache(id);
+        OrderResponse response = mapToOrderResponse(cancelledOrder);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(response, oldStatus));
+        eventPublisher.publishEvent(new OrderCancelledEvent(response));
         log.info("Pedido ID: {} cancelado com sucesso", id);
     }
 
+    // Após o commit: antes dele, um leitor concorrente recolocaria no cache o pedido ainda não confirmado, e
+    // um commit que falhe (conflito de versão, gravações BEFORE_COMMIT) não deixa estado desfeito no cache.
+    // Remove em vez de gravar: updatedAt só é preenchido no flush, depois de a resposta ser montada
+    private void evictOrderCache(Long id) {
+        Cache cache = cacheManager.getCache(Constants.CACHE_ORDERS);
+        if (cache != null) {
+            TransactionUtils.afterCommit(() -> cache.evict(id));
+        }
+    }
+
+    // Uma única entrada em lote: as linhas são bloqueadas na mesma ordem (ID crescente) usada pelo checkout
     private void restoreStockForOrder(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
         for (OrderItem item : order.getItems()) {
-            productService.updateStock(
-                    item.getProduct().getId(),
-                    item.getQuantity(),
-                    StockMovementType.ENTRADA,
-                    "Cancelamento do pedido " + order.getId()
-            );
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
         }
+        productService.updateStockBatch(quantities, StockMovementType.ENTRADA, "Cancelamento do pedido " + order.getId());
     }
 
-    private void checkOrderAccessPermission(Order order) {
-        String currentUser = SecurityUtils.getCurrentUsername();
-        if (!order.getUser().getEmail().equals(currentUser) && !SecurityUtils.hasRole("ADMIN")) {
-            throw new BusinessException("Acesso negado para visualizar este pedido");
+    static Map<Long, Integer> aggregateQuantities(List<OrderRequest.OrderItemRequest> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderRequest.OrderItemRequest itemRequest : items) {
+            quantities.merge(itemRequest.getProductId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    // reserved: quantidades já comprometidas por outros pedidos do mesmo lote, ainda não baixadas do estoque
+    static void validateItems(Map<Long, Integer> quantities, Map<Long, Product> products, Map<Long, Integer> reserved) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Produto", "id", entry.getKey());
+            }
+
+            if (!product.getActive()) {
+                throw new BusinessException("Produto não está disponível: " + product.getName());
+            }
+
+            int available = product.getStockQuantity() - reserved.getOrDefault(entry.getKey(), 0);
+            if (available < entry.getValue()) {
+                throw new BusinessException("Estoque insuficiente para o produto: " + product.getName());
+            }
+        }
+    }
+
+    static Order buildOrder(User user, List<OrderRequest.OrderItemRequest> items, Map<Long, Product> products) {
+        Order order = Order.builder()
+                .user(user)
+                .status(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .items(new ArrayList<>())
+                .build();
+
+        for (OrderRequest.OrderItemRequest itemRequest : items) {
+            Product product = products.get(itemRequest.getProductId());
+
+            OrderItem orderItem = OrderItem.builder()
+                    .order(order)
+                    .product(product)
+                    .quantity(itemRequest.getQuantity())
+                    .unitPrice(product.getPrice())
+                    .build();
+            orderItem.calculateTotalPrice();
+
+            order.addItem(orderItem);
+        }
+
+        order.recalculateTotalAmount();
+        return order;
+    }
+
+    private Page<OrderResponse> mapToOrderResponsePage(Page<Order> orders) {
+        fetchItems(orders.getContent());
+        return orders.map(this::mapToOrderResponse);
+    }
+
+    private CursorPageResponse<OrderResponse> mapToCursorPage(List<Order> orders, int pageSize) {
+        fetchItems(orders);
+        List<OrderResponse> rows = orders.stream()
+                .map(this::mapToOrderResponse)
+                .toList();
+        return CursorPageResponse.of(rows, pageSize,
+                last -> CursorUtils.encode(last.getCreatedAt(), last.getId()));
+    }
+
+    private void fetchItems(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            // Inicializa itens e produtos da página em uma única consulta, evitando N+1 no mapeamento
+            orderRepository.fetchItemsByIdIn(orders.stream().map(Order::getId).toList());
+        }
+    }
+
+    private record OrderCursor(LocalDateTime createdAt, Long id) {
+
+        static OrderCursor decode(String cursor) {
+            String[] values = CursorUtils.decode(cursor, 2);
+            try {
+                return new OrderCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BusinessException("Cursor de paginação inválido", e);
+            }
         }
     }
 
-    private OrderResponse mapToOrderResponse(Order order) {
+    OrderResponse mapToOrderResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .userEmail(order.getUser().getEmail())
@@ -250,6 +396,7 @@ public class OrderService {
         return OrderResponse.OrderItemResponse.builder()
                 .productId(item.getProduct().getId())
                 .productName(item.getProduct().getName())
+                .category(item.getProduct().getCategory())
                 .quantity(item.getQuantity())
                 .unitPrice(item.getUnitPrice())
                 .totalPrice(item.getTotalPrice())
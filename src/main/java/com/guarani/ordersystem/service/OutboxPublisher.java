@@ -0,0 +1,10 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+
+// Destino dos eventos do outbox (broker, webhook, arquivo). Uma exceção mantém o evento pendente para
+// nova tentativa: a entrega é "pelo menos uma vez" e os consumidores devem deduplicar pelo id do evento.
+public interface OutboxPublisher {
+
+    void publish(OrderOutboxEvent event);
+}
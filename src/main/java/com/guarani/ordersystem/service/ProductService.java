@@ -1,29 +1,56 @@
 package com.guarani.ordersystem.service;
 
+import com.guarani.ordersystem.config.RetryOnOptimisticLock;
+import com.guarani.ordersystem.dto.BulkStockUpdateRequest;
+import com.guarani.ordersystem.dto.BulkStockUpdateResponse;
+import com.guarani.ordersystem.dto.CursorPageResponse;
 import com.guarani.ordersystem.dto.ProductRequest;
 import com.guarani.ordersystem.dto.ProductResponse;
 import com.guarani.ordersystem.entity.Product;
 import com.guarani.ordersystem.entity.ProductPriceHistory;
-import com.guarani.ordersystem.entity.StockMovement;
 import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent.Stock;
 import com.guarani.ordersystem.exception.BusinessException;
 import com.guarani.ordersystem.exception.ResourceNotFoundException;
 import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.ProductRepository.ProductSearchHit;
+import com.guarani.ordersystem.repository.ProductRepository.StockLevel;
 import com.guarani.ordersystem.util.Constants;
+import com.guarani.ordersystem.util.CursorUtils;
 import com.guarani.ordersystem.util.SecurityUtils;
+import com.guarani.ordersystem.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,7 +58,25 @@ import java.util.List;
 @CacheConfig(cacheNames = "products")
 public class ProductService {
 
+    // Uma única instrução parametrizada para os três tipos de movimentação, enviada em lotes JDBC:
+    // AJUSTE informa o estoque absoluto; ENTRADA e SAIDA, o delta (a saída só aplica se houver estoque)
+    private static final String BULK_STOCK_UPDATE_SQL = "UPDATE products " +
+            "SET stock_quantity = COALESCE(?, stock_quantity + ?), version = version + 1 " +
+            "WHERE id = ? AND stock_quantity + ? >= 0";
+    private static final int STOCK_BATCH_SIZE = 500;
+    private static final int STOCK_READ_CHUNK_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final StockMovementRecorder stockMovementRecorder;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final LowStockTracker lowStockTracker;
+
+    // Busca textual depende do PostgreSQL com a migração V6 aplicada; desabilitada, a busca por nome usa LIKE.
+    // Desligada por padrão: o schema dos perfis atuais vem do ddl-auto do Hibernate, que não cria search_vector
+    @Value("${app.search.full-text.enabled:false}")
+    private boolean fullTextSearchEnabled;
 
     @Cacheable(key = "#id")
     @Transactional(readOnly = true)
@@ -45,22 +90,37 @@ public class ProductService {
     @Transactional(readOnly = true)
     public Page<ProductResponse> findAll(Pageable pageable) {
         log.info("Buscando todos os produtos paginados");
-        return productRepository.findAll(pageable)
-                .map(this::mapToProductResponse);
+        return productRepository.findAllResponses(pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> findByCategory(String category, Pageable pageable) {
         log.info("Buscando produtos por categoria: {}", category);
-        return productRepository.findByCategoryIgnoreCase(category, pageable)
-                .map(this::mapToProductResponse);
+        return productRepository.findResponsesByCategory(category, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> findActiveProducts(Pageable pageable) {
         log.info("Buscando produtos ativos");
-        return productRepository.findByActiveTrue(pageable)
-                .map(this::mapToProductResponse);
+        return productRepository.findActiveResponses(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> findActiveProductsByCursor(String cursor, int size) {
+        log.info("Buscando produtos ativos por cursor");
+        int pageSize = CursorUtils.normalizeSize(size);
+
+        long afterId = 0L;
+        if (CursorUtils.isPresent(cursor)) {
+            try {
+                afterId = Long.parseLong(CursorUtils.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new BusinessException("Cursor de paginação inválido", e);
+            }
+        }
+
+        List<ProductResponse> rows = productRepository.findActiveResponsesAfter(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, last -> CursorUtils.encode(last.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -69,32 +129,20 @@ public class ProductService {
         log.info("Buscando produtos com filtros - nome: {}, categoria: {}, preço: {}-{}",
                 name, category, minPrice, maxPrice);
 
-        Specification<Product> spec = Specification.where(null);
-
-        if (name != null && !name.trim().isEmpty()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
-        }
-
-        if (category != null && !category.trim().isEmpty()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(cb.lower(root.get("category")), category.toLowerCase()));
-        }
-
-        if (minPrice != null) {
-            spec = spec.and((root, query, cb) ->
-                    cb.greaterThanOrEqualTo(root.get("price"), minPrice));
-        }
+        boolean hasName = name != null && !name.trim().isEmpty();
+        String normalizedCategory = category != null && !category.trim().isEmpty()
+                ? category.toLowerCase()
+                : null;
 
-        if (maxPrice != null) {
-            spec = spec.and((root, query, cb) ->
-                    cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+        if (hasName && fullTextSearchEnabled) {
+            // Resultados ordenados por relevância: a ordenação pedida pelo cliente não se aplica
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return productRepository.fullTextSearch(name.trim(), normalizedCategory, minPrice, maxPrice, unsorted)
+                    .map(this::mapToProductResponse);
         }
 
-        spec = spec.and((root, query, cb) -> cb.isTrue(root.get("active")));
-
-        return productRepository.findAll(spec, pageable)
-                .map(this::mapToProductResponse);
+        String namePattern = hasName ? "%" + name.toLowerCase() + "%" : null;
+        return productRepository.searchResponses(namePattern, normalizedCategory, minPrice, maxPrice, pageable);
     }
 
     @CacheEvict(allEntries = true)
@@ -114,10 +162,12 @@ public class ProductService {
         Product savedProduct = productRepository.save(product);
         log.info("Produto criado com ID: {}", savedProduct.getId());
 
-        return mapToProductResponse(savedProduct);
+        ProductResponse response = mapToProductResponse(savedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(response));
+        return response;
     }
 
-    @CacheEvict(key = "#id")
+    @RetryOnOptimisticLock
     @Transactional
     public ProductResponse update(Long id, ProductRequest request) {
         log.info("Atualizando produto ID: {}", id);
@@ -152,11 +202,15 @@ public class ProductService {
             product.setActive(request.getActive());
         }
 
-        Product updatedProduct = productRepository.save(product);
-        return mapToProductResponse(updatedProduct);
+        // Flush para a resposta e o evento levarem a versão incrementada, usada pelos índices em memória
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        ProductResponse response = mapToProductResponse(updatedProduct);
+        evictProductCache(List.of(id));
+        eventPublisher.publishEvent(new ProductChangedEvent(response));
+        return response;
     }
 
-    @CacheEvict(key = "#id")
+    @RetryOnOptimisticLock
     @Transactional
     public void delete(Long id) {
         log.info("Deletando produto ID: {}", id);
@@ -164,64 +218,290 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", id));
 
         product.setActive(false);
-        productRepository.save(product);
+        Product deactivatedProduct = productRepository.saveAndFlush(product);
+        evictProductCache(List.of(id));
+        eventPublisher.publishEvent(new ProductChangedEvent(mapToProductResponse(deactivatedProduct)));
     }
 
-    @CacheEvict(key = "#productId")
     @Transactional
     public ProductResponse updateStock(Long productId, Integer quantity, StockMovementType movementType, String reason) {
         log.info("Atualizando estoque do produto ID: {} - tipo: {}, quantidade: {}",
                 productId, movementType, quantity);
 
+        Map<Long, Stock> newStock = applyStockMovements(
+                List.of(new StockMovementGroup(reason, Map.of(productId, quantity))), movementType);
+        evictProductCache(List.of(productId));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(newStock));
+
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", productId));
 
-        int previousStock = product.getStockQuantity();
-        int newStock = previousStock;
+        // A entidade pode estar desatualizada no contexto de persistência após o UPDATE em massa
+        ProductResponse response = mapToProductResponse(product);
+        response.setStockQuantity(newStock.get(productId).quantity());
+        response.setVersion(newStock.get(productId).version());
+        return response;
+    }
 
-        switch (movementType) {
-            case ENTRADA:
-                newStock = previousStock + quantity;
-                break;
-            case SAIDA:
-                if (previousStock < quantity) {
-                    throw new BusinessException("Estoque insuficiente para saída");
-                }
-                newStock = previousStock - quantity;
-                break;
-            case AJUSTE:
-                if (quantity < 0) {
-                    throw new BusinessException("Quantidade de ajuste não pode ser negativa");
-                }
-                newStock = quantity;
-                break;
-        }
-
-        // Registrar movimentação de estoque
-        StockMovement stockMovement = StockMovement.builder()
-                .product(product)
-                .movementType(movementType)
-                .quantity(quantity)
-                .previousStock(previousStock)
-                .newStock(newStock)
-                .reason(reason)
-                .createdBy(SecurityUtils.getCurrentUsername())
-                .build();
-        product.getStockMovements().add(stockMovement);
+    @Transactional
+    public void updateStockBatch(Map<Long, Integer> quantities, StockMovementType movementType, String reason) {
+        log.info("Atualizando estoque em lote de {} produtos - tipo: {}", quantities.size(), movementType);
 
-        product.setStockQuantity(newStock);
-        Product updatedProduct = productRepository.save(product);
+        Map<Long, Stock> newStock = applyStockMovements(
+                List.of(new StockMovementGroup(reason, quantities)), movementType);
+        evictProductCache(quantities.keySet());
+        eventPublisher.publishEvent(new ProductStockChangedEvent(newStock));
+    }
+
+    // Várias movimentações do mesmo tipo (ex.: os pedidos de um bloco importado) com um único UPDATE condicional
+    // por produto; o histórico mantém uma linha por grupo e produto, encadeadas na ordem recebida
+    @Transactional
+    public void updateStockBatch(List<StockMovementGroup> groups, StockMovementType movementType) {
+        log.info("Atualizando estoque em lote de {} movimentações - tipo: {}", groups.size(), movementType);
 
-        return mapToProductResponse(updatedProduct);
+        Map<Long, Stock> newStock = applyStockMovements(groups, movementType);
+        evictProductCache(newStock.keySet());
+        eventPublisher.publishEvent(new ProductStockChangedEvent(newStock));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
+    public BulkStockUpdateResponse updateStockBulk(List<BulkStockUpdateRequest.StockUpdateItem> items) {
+        log.info("Atualizando estoque em massa de {} itens", items.size());
+
+        Map<Long, BulkStockUpdateRequest.StockUpdateItem> byProduct = new LinkedHashMap<>();
+        for (BulkStockUpdateRequest.StockUpdateItem item : items) {
+            if (byProduct.put(item.getProductId(), item) != null) {
+                throw new BusinessException("Produto repetido na atualização em massa: " + item.getProductId());
+            }
+        }
+
+        // Estoque anterior lido com as linhas bloqueadas: identifica produtos inexistentes e o valor anterior
+        // dos ajustes, sem que outra movimentação altere a linha entre a leitura e a escrita
+        Map<Long, Stock> previousStock = lockStockLevels(byProduct.keySet());
+        List<BulkStockUpdateResponse.StockUpdateFailure> failures = new ArrayList<>();
+        List<BulkStockUpdateRequest.StockUpdateItem> known = new ArrayList<>(byProduct.size());
+        for (BulkStockUpdateRequest.StockUpdateItem item : byProduct.values()) {
+            if (previousStock.containsKey(item.getProductId())) {
+                known.add(item);
+            } else {
+                failures.add(new BulkStockUpdateResponse.StockUpdateFailure(item.getProductId(),
+                        "Produto não encontrado"));
+            }
+        }
+
+        // Mesma ordem de bloqueio das linhas que applyStockMovements (ID crescente), evitando deadlock
+        known.sort(Comparator.comparing(BulkStockUpdateRequest.StockUpdateItem::getProductId));
+        int[] updateCounts = writeStock(known.stream()
+                .map(item -> new StockWrite(item.getProductId(), item.getMovementType(), item.getQuantity()))
+                .toList());
+
+        List<BulkStockUpdateRequest.StockUpdateItem> applied = new ArrayList<>(known.size());
+        for (int i = 0; i < updateCounts.length; i++) {
+            BulkStockUpdateRequest.StockUpdateItem item = known.get(i);
+            if (updateCounts[i] == 0) {
+                failures.add(new BulkStockUpdateResponse.StockUpdateFailure(item.getProductId(),
+                        "Estoque insuficiente para saída"));
+            } else {
+                applied.add(item);
+            }
+        }
+
+        if (!applied.isEmpty()) {
+            Map<Long, Stock> newStock = readStockLevels(applied.stream()
+                    .map(BulkStockUpdateRequest.StockUpdateItem::getProductId)
+                    .toList());
+
+            String currentUser = SecurityUtils.getCurrentUsername();
+            LocalDateTime movementDate = LocalDateTime.now();
+            List<StockMovementRecorder.Movement> movements = new ArrayList<>(applied.size());
+            for (BulkStockUpdateRequest.StockUpdateItem item : applied) {
+                int current = newStock.get(item.getProductId()).quantity();
+                int previous = switch (item.getMovementType()) {
+                    case ENTRADA -> current - item.getQuantity();
+                    case SAIDA -> current + item.getQuantity();
+                    case AJUSTE -> previousStock.get(item.getProductId()).quantity();
+                };
+                movements.add(new StockMovementRecorder.Movement(item.getProductId(), item.getMovementType(),
+                        item.getQuantity(), previous, current, item.getReason(), movementDate, currentUser));
+            }
+            stockMovementRecorder.record(movements);
+
+            evictProductCache(newStock.keySet());
+            eventPublisher.publishEvent(new ProductStockChangedEvent(newStock));
+        }
+
+        log.info("Estoque atualizado em massa: {} itens aplicados, {} rejeitados", applied.size(), failures.size());
+        return BulkStockUpdateResponse.builder()
+                .total(items.size())
+                .updated(applied.size())
+                .failed(failures.size())
+                .failures(failures)
+                .build();
+    }
+
+    // Lista mantida em memória pelo LowStockTracker a cada movimentação, sem varrer a tabela de produtos
     public List<ProductResponse> findLowStockProducts() {
-        log.info("Buscando produtos com estoque baixo");
-        return productRepository.findByStockQuantityLessThanAndActiveTrue(10)
-                .stream()
-                .map(this::mapToProductResponse)
+        log.debug("Buscando produtos com estoque baixo");
+        return lowStockTracker.findLowStockProducts();
+    }
+
+    public void updateLowStockThreshold(Long productId, Integer threshold) {
+        lowStockTracker.setProductThreshold(productId, threshold);
+    }
+
+    public void updateCategoryLowStockThreshold(String category, Integer threshold) {
+        lowStockTracker.setCategoryThreshold(category, threshold);
+    }
+
+    private Map<Long, Stock> applyStockMovements(List<StockMovementGroup> groups, StockMovementType movementType) {
+        if (movementType == StockMovementType.AJUSTE && groups.size() > 1) {
+            // Ajustes definem o estoque final: não podem ser somados em um único UPDATE
+            throw new IllegalArgumentException("Ajustes de estoque não podem ser agrupados");
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        groups.forEach(group -> group.quantities().forEach((productId, quantity) ->
+                quantities.merge(productId, quantity, Integer::sum)));
+        if (movementType == StockMovementType.AJUSTE && quantities.values().stream().anyMatch(q -> q < 0)) {
+            throw new BusinessException("Quantidade de ajuste não pode ser negativa");
+        }
+
+        // Para ajustes o estoque anterior não pode ser derivado do novo: é lido antes da escrita, com as
+        // linhas já bloqueadas na mesma ordem dos UPDATEs
+        Map<Long, Stock> previousStock = movementType == StockMovementType.AJUSTE
+                ? lockStockLevels(quantities.keySet())
+                : Map.of();
+
+        // Cada UPDATE condicional é atômico no banco: não há leitura-modificação-escrita em memória.
+        // As linhas são bloqueadas em ordem crescente de ID: pedidos concorrentes com os mesmos produtos
+        // em ordens diferentes esperariam um pelo outro (deadlock) se seguissem a ordem da requisição
+        List<StockWrite> writes = new TreeMap<>(quantities).entrySet().stream()
+                .map(entry -> new StockWrite(entry.getKey(), movementType, entry.getValue()))
                 .toList();
+        int[] updateCounts = writeStock(writes);
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                rejected.add(writes.get(i).productId());
+            }
+        }
+
+        Map<Long, Stock> newStock = readStockLevels(quantities.keySet());
+
+        if (!rejected.isEmpty()) {
+            for (Long productId : rejected) {
+                if (!newStock.containsKey(productId)) {
+                    throw new ResourceNotFoundException("Produto", "id", productId);
+                }
+            }
+            throw new BusinessException("Estoque insuficiente para saída dos produtos: " + rejected);
+        }
+
+        // Registrar movimentações de estoque: uma linha no outbox do histórico, confirmada junto com o estoque;
+        // a cópia para stock_movements roda depois do commit. O estoque anterior ao UPDATE é derivado do total
+        // e cada grupo parte do estoque deixado pelo anterior
+        Map<Long, Integer> stockBefore = new HashMap<>();
+        quantities.forEach((productId, total) -> {
+            int current = newStock.get(productId).quantity();
+            stockBefore.put(productId, switch (movementType) {
+                case ENTRADA -> current - total;
+                case SAIDA -> current + total;
+                case AJUSTE -> previousStock.get(productId).quantity();
+            });
+        });
+        String currentUser = SecurityUtils.getCurrentUsername();
+        LocalDateTime movementDate = LocalDateTime.now();
+        List<StockMovementRecorder.Movement> movements = new ArrayList<>();
+        for (StockMovementGroup group : groups) {
+            group.quantities().forEach((productId, quantity) -> {
+                int previous = stockBefore.get(productId);
+                int current = switch (movementType) {
+                    case ENTRADA -> previous + quantity;
+                    case SAIDA -> previous - quantity;
+                    case AJUSTE -> quantity;
+                };
+                stockBefore.put(productId, current);
+                movements.add(new StockMovementRecorder.Movement(productId, movementType, quantity,
+                        previous, current, group.reason(), movementDate, currentUser));
+            });
+        }
+        stockMovementRecorder.record(movements);
+
+        return newStock;
+    }
+
+    // Um único lote JDBC para todas as movimentações, na ordem recebida. Devolve as linhas alteradas por
+    // movimentação: 0 indica produto inexistente ou saída maior que o estoque
+    private int[] writeStock(List<StockWrite> writes) {
+        int[][] batches = jdbcTemplate.batchUpdate(BULK_STOCK_UPDATE_SQL, writes, STOCK_BATCH_SIZE, (ps, write) -> {
+            boolean adjustment = write.movementType() == StockMovementType.AJUSTE;
+            int delta = switch (write.movementType()) {
+                case ENTRADA -> write.quantity();
+                case SAIDA -> -write.quantity();
+                case AJUSTE -> 0;
+            };
+            ps.setObject(1, adjustment ? write.quantity() : null, Types.INTEGER);
+            ps.setInt(2, delta);
+            ps.setLong(3, write.productId());
+            ps.setInt(4, delta);
+        });
+
+        int[] updateCounts = new int[writes.size()];
+        int index = 0;
+        for (int[] batch : batches) {
+            for (int count : batch) {
+                updateCounts[index++] = count;
+            }
+        }
+        return updateCounts;
+    }
+
+    private Map<Long, Stock> readStockLevels(Collection<Long> productIds) {
+        return queryStockLevels(productIds, productRepository::findStockLevels);
+    }
+
+    // SELECT ... FOR UPDATE em ordem crescente de ID, também entre os blocos
+    private Map<Long, Stock> lockStockLevels(Collection<Long> productIds) {
+        return queryStockLevels(new TreeSet<>(productIds), productRepository::lockStockLevels);
+    }
+
+    private Map<Long, Stock> queryStockLevels(Collection<Long> productIds,
+                                              Function<Collection<Long>, List<StockLevel>> query) {
+        if (productIds.size() <= STOCK_READ_CHUNK_SIZE) {
+            return query.apply(productIds).stream()
+                    .collect(Collectors.toMap(StockLevel::getId, ProductService::toStock));
+        }
+
+        // Listas IN muito grandes esbarram no limite de parâmetros do driver: lê em blocos
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, Stock> levels = new HashMap<>(ids.size());
+        for (int from = 0; from < ids.size(); from += STOCK_READ_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STOCK_READ_CHUNK_SIZE, ids.size()));
+            query.apply(chunk).forEach(level -> levels.put(level.getId(), toStock(level)));
+        }
+        return levels;
+    }
+
+    // Após o commit: antes dele, um leitor concorrente recolocaria no cache o estoque ainda não confirmado
+    private void evictProductCache(Collection<Long> productIds) {
+        Cache cache = cacheManager.getCache(Constants.CACHE_PRODUCTS);
+        if (cache != null) {
+            TransactionUtils.afterCommit(() -> productIds.forEach(cache::evict));
+        }
+    }
+
+    private ProductResponse mapToProductResponse(ProductSearchHit hit) {
+        return ProductResponse.builder()
+                .id(hit.getId())
+                .name(hit.getName())
+                .description(hit.getDescription())
+                .price(hit.getPrice())
+                .category(hit.getCategory())
+                .stockQuantity(hit.getStockQuantity())
+                .active(hit.getActive())
+                .createdAt(hit.getCreatedAt())
+                .updatedAt(hit.getUpdatedAt())
+                .build();
     }
 
     private ProductResponse mapToProductResponse(Product product) {
@@ -235,6 +515,18 @@ public class ProductService {
                 .active(product.getActive())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
+
+    private static Stock toStock(StockLevel level) {
+        return new Stock(level.getStockQuantity(), level.getVersion());
+    }
+
+    // Quantidades por produto de uma movimentação, com o motivo registrado no histórico
+    public record StockMovementGroup(String reason, Map<Long, Integer> quantities) {
+    }
+
+    private record StockWrite(Long productId, StockMovementType movementType, int quantity) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.CategorySalesResponse;
+import com.guarani.ordersystem.dto.DailySalesResponse;
+import com.guarani.ordersystem.dto.PaymentMethodSalesResponse;
+import com.guarani.ordersystem.dto.SalesReportResponse;
+import com.guarani.ordersystem.entity.DailySales;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.CategorySalesRepository;
+import com.guarani.ordersystem.repository.DailySalesRepository;
+import com.guarani.ordersystem.repository.PaymentMethodSalesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Relatórios de vendas lidos dos agregados (uma linha por dia, categoria ou forma de pagamento) em vez
+// de varrer orders e order_items a cada consulta. O recálculo a partir dos pedidos corrige divergências
+// dos agregados incrementais e roda toda noite para os dias anteriores.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsService {
+
+    // Mesmas regras da carga inicial da migração V9
+    private static final String REBUILD_DAILY_SQL = "INSERT INTO daily_sales " +
+            "(sale_date, orders_count, cancelled_count, gross_amount, cancelled_amount, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), COUNT(*), " +
+            "SUM(CASE WHEN o.status = 'CANCELLED' THEN 1 ELSE 0 END), SUM(o.total_amount), " +
+            "SUM(CASE WHEN o.status = 'CANCELLED' THEN o.total_amount ELSE 0 END), CURRENT_TIMESTAMP " +
+            "FROM orders o WHERE o.created_at >= ? AND o.created_at < ? " +
+            "GROUP BY CAST(o.created_at AS DATE)";
+    private static final String REBUILD_CATEGORY_SQL = "INSERT INTO category_sales " +
+            "(sale_date, category, items_quantity, amount, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), p.category, SUM(oi.quantity), SUM(oi.total_price), CURRENT_TIMESTAMP " +
+            "FROM orders o JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.status <> 'CANCELLED' AND o.created_at >= ? AND o.created_at < ? " +
+            "GROUP BY CAST(o.created_at AS DATE), p.category";
+    private static final String REBUILD_PAYMENT_SQL = "INSERT INTO payment_method_sales " +
+            "(sale_date, payment_method, approved_count, approved_amount, updated_at) " +
+            "SELECT CAST(o.payment_date AS DATE), COALESCE(o.payment_method, '" + SalesRollupRecorder.NO_PAYMENT_METHOD + "'), " +
+            "COUNT(*), SUM(o.total_amount), CURRENT_TIMESTAMP " +
+            "FROM orders o WHERE o.payment_status IN ('APPROVED', 'REFUNDED') " +
+            "AND o.payment_date >= ? AND o.payment_date < ? " +
+            "GROUP BY CAST(o.payment_date AS DATE), COALESCE(o.payment_method, '" + SalesRollupRecorder.NO_PAYMENT_METHOD + "')";
+
+    private final DailySalesRepository dailySalesRepository;
+    private final CategorySalesRepository categorySalesRepository;
+    private final PaymentMethodSalesRepository paymentMethodSalesRepository;
+    private final SalesRollupRecorder salesRollupRecorder;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.sales-analytics.max-range-days:366}")
+    private int maxRangeDays;
+
+    @Value("${app.sales-analytics.rebuild-days:2}")
+    private int rebuildDays;
+
+    @Transactional(readOnly = true)
+    public SalesReportResponse getReport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        List<DailySalesResponse> daily = dailySalesRepository.findBySaleDateBetweenOrderBySaleDate(from, to).stream()
+                .map(this::mapToDailySalesResponse)
+                .toList();
+        List<CategorySalesResponse> categories = categorySalesRepository.summarize(from, to);
+        List<PaymentMethodSalesResponse> paymentMethods = paymentMethodSalesRepository.summarize(from, to);
+
+        long ordersCount = daily.stream().mapToLong(DailySalesResponse::getOrdersCount).sum();
+        long cancelledCount = daily.stream().mapToLong(DailySalesResponse::getCancelledCount).sum();
+        BigDecimal grossAmount = daily.stream().map(DailySalesResponse::getGrossAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal netAmount = daily.stream().map(DailySalesResponse::getNetAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long netCount = ordersCount - cancelledCount;
+
+        return SalesReportResponse.builder()
+                .from(from)
+                .to(to)
+                .ordersCount(ordersCount)
+                .cancelledCount(cancelledCount)
+                .grossAmount(grossAmount)
+                .netAmount(netAmount)
+                .averageTicket(netCount > 0
+                        ? netAmount.divide(BigDecimal.valueOf(netCount), 2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO)
+                .daily(daily)
+                .categories(categories)
+                .paymentMethods(paymentMethods)
+                .build();
+    }
+
+    // Substitui os agregados do período pelos valores calculados a partir dos pedidos. Em um único snapshot
+    // (REPEATABLE READ) apaga os deltas do período ainda não aplicados e relê os pedidos: os pedidos desses
+    // deltas já entram no recálculo, e os confirmados depois do snapshot mantêm os deltas para a próxima
+    // aplicação. No PostgreSQL a trava das tabelas serializa recálculos concorrentes entre instâncias.
+    public SalesReportResponse rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        log.info("Recalculando agregados de vendas de {} a {}", from, to);
+
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transactionTemplate.executeWithoutResult(status -> {
+            salesRollupRecorder.lockForRebuild();
+            jdbcTemplate.update("DELETE FROM sales_rollup_deltas WHERE sale_date BETWEEN ? AND ?", from, to);
+            jdbcTemplate.update("DELETE FROM daily_sales WHERE sale_date BETWEEN ? AND ?", from, to);
+            jdbcTemplate.update("DELETE FROM category_sales WHERE sale_date BETWEEN ? AND ?", from, to);
+            jdbcTemplate.update("DELETE FROM payment_method_sales WHERE sale_date BETWEEN ? AND ?", from, to);
+            int days = jdbcTemplate.update(REBUILD_DAILY_SQL, start, end);
+            jdbcTemplate.update(REBUILD_CATEGORY_SQL, start, end);
+            jdbcTemplate.update(REBUILD_PAYMENT_SQL, start, end);
+            log.info("Agregados de vendas recalculados: {} dias com pedidos entre {} e {}", days, from, to);
+        });
+        return getReport(from, to);
+    }
+
+    // Dias já encerrados: não recebem mais pedidos novos, só cancelamentos e aprovações atrasadas
+    @Scheduled(cron = "${app.sales-analytics.rebuild-cron:0 30 3 * * *}")
+    public void rebuildRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday.minusDays(rebuildDays - 1L), yesterday);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Data inicial deve ser anterior ou igual à data final");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BusinessException("Período limitado a " + maxRangeDays + " dias");
+        }
+    }
+
+    private DailySalesResponse mapToDailySalesResponse(DailySales sales) {
+        return DailySalesResponse.builder()
+                .date(sales.getSaleDate())
+                .ordersCount(sales.getOrdersCount())
+                .cancelledCount(sales.getCancelledCount())
+                .grossAmount(sales.getGrossAmount())
+                .cancelledAmount(sales.getCancelledAmount())
+                .netAmount(sales.getGrossAmount().subtract(sales.getCancelledAmount()))
+                .build();
+    }
+}
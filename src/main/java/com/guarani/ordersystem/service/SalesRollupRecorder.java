@@ -0,0 +1,251 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.event.OrderCancelledEvent;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.PaymentApprovedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Mantém daily_sales, category_sales e payment_method_sales a partir dos eventos de pedido. Depois do commit
+// do pedido, no orderEventExecutor, cada evento grava seus deltas em sales_rollup_deltas (só inserts, sem
+// disputar a linha do dia corrente); um ciclo agendado os soma e aplica, um UPDATE por linha afetada, e apaga
+// os deltas aplicados. Fora da transação do pedido, um delta se perde em uma queda entre o commit e a gravação
+// e conta em dobro se for gravado durante um recálculo que já releu o pedido: o recálculo dos dias encerrados
+// (SalesAnalyticsService) refaz os agregados a partir dos pedidos e corrige os dois casos.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupRecorder {
+
+    static final String NO_PAYMENT_METHOD = "NAO_INFORMADO";
+    static final String NO_CATEGORY = "SEM_CATEGORIA";
+
+    private static final String DAILY = "DAILY";
+    private static final String CATEGORY = "CATEGORY";
+    private static final String PAYMENT = "PAYMENT";
+
+    private static final String STAGE_SQL = "INSERT INTO sales_rollup_deltas " +
+            "(rollup, sale_date, rollup_key, count_delta, cancelled_delta, amount_delta, cancelled_amount_delta) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // FOR UPDATE SKIP LOCKED: instâncias concorrentes aplicam lotes disjuntos
+    private static final String CLAIM_SQL = "SELECT id, rollup, sale_date, rollup_key, count_delta, cancelled_delta, " +
+            "amount_delta, cancelled_amount_delta FROM sales_rollup_deltas ORDER BY id " +
+            "FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM sales_rollup_deltas WHERE id IN (%s)";
+    private static final String LOCK_ROLLUPS_SQL = "LOCK TABLE daily_sales, category_sales, payment_method_sales IN %s MODE";
+
+    private static final String UPDATE_DAILY_SQL = "UPDATE daily_sales SET orders_count = orders_count + ?, " +
+            "cancelled_count = cancelled_count + ?, gross_amount = gross_amount + ?, " +
+            "cancelled_amount = cancelled_amount + ?, updated_at = ? WHERE sale_date = ?";
+    private static final String INSERT_DAILY_SQL = "INSERT INTO daily_sales " +
+            "(orders_count, cancelled_count, gross_amount, cancelled_amount, updated_at, sale_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_CATEGORY_SQL = "UPDATE category_sales SET items_quantity = items_quantity + ?, " +
+            "amount = amount + ?, updated_at = ? WHERE sale_date = ? AND category = ?";
+    private static final String INSERT_CATEGORY_SQL = "INSERT INTO category_sales " +
+            "(items_quantity, amount, updated_at, sale_date, category) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_PAYMENT_SQL = "UPDATE payment_method_sales SET approved_count = approved_count + ?, " +
+            "approved_amount = approved_amount + ?, updated_at = ? WHERE sale_date = ? AND payment_method = ?";
+    private static final String INSERT_PAYMENT_SQL = "INSERT INTO payment_method_sales " +
+            "(approved_count, approved_amount, updated_at, sale_date, payment_method) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.sales-analytics.batch-size:1000}")
+    private int batchSize;
+
+    private volatile Boolean postgres;
+
+    private record CategoryKey(LocalDate date, String category) {
+    }
+
+    private record PaymentKey(LocalDate date, String paymentMethod) {
+    }
+
+    // count/amount: pedidos ou itens e valor; cancelled/cancelledAmount só são usados em daily_sales
+    private static final class Delta {
+        private long count;
+        private long cancelled;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private BigDecimal cancelledAmount = BigDecimal.ZERO;
+
+        private Delta add(long count, long cancelled, BigDecimal amount, BigDecimal cancelledAmount) {
+            this.count += count;
+            this.cancelled += cancelled;
+            this.amount = this.amount.add(amount);
+            this.cancelledAmount = this.cancelledAmount.add(cancelledAmount);
+            return this;
+        }
+
+        private Delta add(Delta other) {
+            return add(other.count, other.cancelled, other.amount, other.cancelledAmount);
+        }
+    }
+
+    private static final class Pending {
+        private final Map<LocalDate, Delta> daily = new HashMap<>();
+        private final Map<CategoryKey, Delta> categories = new HashMap<>();
+        private final Map<PaymentKey, Delta> payments = new HashMap<>();
+    }
+
+    @Async("orderEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        OrderResponse order = event.getOrder();
+        Pending delta = new Pending();
+        LocalDate day = saleDate(order);
+        delta.daily.put(day, new Delta().add(1, 0, order.getTotalAmount(), BigDecimal.ZERO));
+        addItems(delta, day, order, 1);
+        stage(delta);
+    }
+
+    @Async("orderEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        OrderResponse order = event.getOrder();
+        Pending delta = new Pending();
+        LocalDate day = saleDate(order);
+        delta.daily.put(day, new Delta().add(0, 1, BigDecimal.ZERO, order.getTotalAmount()));
+        addItems(delta, day, order, -1);
+        stage(delta);
+    }
+
+    @Async("orderEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentApproved(PaymentApprovedEvent event) {
+        OrderResponse order = event.getOrder();
+        LocalDate day = order.getPaymentDate() != null ? order.getPaymentDate().toLocalDate() : LocalDate.now();
+        String method = order.getPaymentMethod() != null ? order.getPaymentMethod().name() : NO_PAYMENT_METHOD;
+        Pending delta = new Pending();
+        delta.payments.put(new PaymentKey(day, method), new Delta().add(1, 0, order.getTotalAmount(), BigDecimal.ZERO));
+        stage(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sales-analytics.flush-interval:5s}")
+    public void flush() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer applied;
+        do {
+            try {
+                applied = transactionTemplate.execute(status -> applyBatch());
+            } catch (RuntimeException e) {
+                // Os deltas continuam na tabela. Se outra instância inserir a mesma linha de agregado no
+                // intervalo, a chave primária rejeita o INSERT e no próximo ciclo o UPDATE encontra a linha
+                log.warn("Falha ao aplicar agregados de vendas; nova tentativa no próximo ciclo: {}", e.getMessage());
+                return;
+            }
+        } while (applied != null && applied == batchSize);
+    }
+
+    // PostgreSQL: o recálculo trava os agregados em SHARE ROW EXCLUSIVE antes de ler qualquer linha, o que
+    // serializa recálculos entre instâncias e espera as aplicações de deltas em andamento
+    void lockForRebuild() {
+        if (isPostgres()) {
+            jdbcTemplate.execute(LOCK_ROLLUPS_SQL.formatted("SHARE ROW EXCLUSIVE"));
+        }
+    }
+
+    int applyBatch() {
+        // Mesma ordem do recálculo: agregados antes dos deltas, sem deadlock entre os dois
+        if (isPostgres()) {
+            jdbcTemplate.execute(LOCK_ROLLUPS_SQL.formatted("ROW EXCLUSIVE"));
+        }
+        List<Long> ids = new ArrayList<>();
+        Pending batch = new Pending();
+        jdbcTemplate.query(CLAIM_SQL, rs -> {
+            ids.add(rs.getLong("id"));
+            LocalDate day = rs.getDate("sale_date").toLocalDate();
+            Delta delta = new Delta().add(rs.getLong("count_delta"), rs.getLong("cancelled_delta"),
+                    rs.getBigDecimal("amount_delta"), rs.getBigDecimal("cancelled_amount_delta"));
+            switch (rs.getString("rollup")) {
+                case DAILY -> batch.daily.computeIfAbsent(day, k -> new Delta()).add(delta);
+                case CATEGORY -> batch.categories.computeIfAbsent(
+                        new CategoryKey(day, rs.getString("rollup_key")), k -> new Delta()).add(delta);
+                default -> batch.payments.computeIfAbsent(
+                        new PaymentKey(day, rs.getString("rollup_key")), k -> new Delta()).add(delta);
+            }
+        }, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        write(batch);
+        jdbcTemplate.update(DELETE_SQL.formatted(String.join(", ", Collections.nCopies(ids.size(), "?"))),
+                ids.toArray());
+        return ids.size();
+    }
+
+    // Os deltas de um evento são gravados juntos ou nenhum, em transação própria: com a fila do executor cheia
+    // o listener roda na thread do pedido, cuja transação já foi confirmada
+    private void stage(Pending delta) {
+        List<Object[]> rows = new ArrayList<>();
+        delta.daily.forEach((day, d) -> rows.add(new Object[]{
+                DAILY, day, null, d.count, d.cancelled, d.amount, d.cancelledAmount}));
+        delta.categories.forEach((key, d) -> rows.add(new Object[]{
+                CATEGORY, key.date(), key.category(), d.count, d.cancelled, d.amount, d.cancelledAmount}));
+        delta.payments.forEach((key, d) -> rows.add(new Object[]{
+                PAYMENT, key.date(), key.paymentMethod(), d.count, d.cancelled, d.amount, d.cancelledAmount}));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(STAGE_SQL, rows));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private void addItems(Pending delta, LocalDate day, OrderResponse order, int sign) {
+        for (OrderResponse.OrderItemResponse item : order.getItems()) {
+            // Categoria do produto carregada com o pedido; o recálculo usa o mesmo critério (join com products)
+            CategoryKey key = new CategoryKey(day, item.getCategory() != null ? item.getCategory() : NO_CATEGORY);
+            BigDecimal amount = sign < 0 ? item.getTotalPrice().negate() : item.getTotalPrice();
+            delta.categories.computeIfAbsent(key, k -> new Delta())
+                    .add((long) sign * item.getQuantity(), 0, amount, BigDecimal.ZERO);
+        }
+    }
+
+    private static LocalDate saleDate(OrderResponse order) {
+        return order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+
+    private void write(Pending batch) {
+        LocalDateTime now = LocalDateTime.now();
+        batch.daily.forEach((day, delta) -> upsert(UPDATE_DAILY_SQL, INSERT_DAILY_SQL,
+                delta.count, delta.cancelled, delta.amount, delta.cancelledAmount, now, day));
+        batch.categories.forEach((key, delta) -> upsert(UPDATE_CATEGORY_SQL, INSERT_CATEGORY_SQL,
+                delta.count, delta.amount, now, key.date(), key.category()));
+        batch.payments.forEach((key, delta) -> upsert(UPDATE_PAYMENT_SQL, INSERT_PAYMENT_SQL,
+                delta.count, delta.amount, now, key.date(), key.paymentMethod()));
+    }
+
+    // UPDATE e, se a linha ainda não existe, INSERT com os mesmos valores
+    private void upsert(String updateSql, String insertSql, Object... args) {
+        if (jdbcTemplate.update(updateSql, args) == 0) {
+            jdbcTemplate.update(insertSql, args);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.guarani.ordersystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Histórico de movimentações de estoque fora do caminho do checkout. Na transação que altera o estoque,
+// record grava uma única linha em stock_movement_outbox com todas as movimentações, confirmada ou desfeita
+// junto com o estoque. Após o commit, o stockAuditExecutor copia as linhas pendentes para stock_movements
+// em lotes JDBC (plain JdbcTemplate: as chaves IDENTITY impedem o batch do Hibernate) e as remove.
+// O ciclo agendado recolhe o que ficou pendente após uma queda ou uma cópia que falhou.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockMovementRecorder {
+
+    private static final String STAGE_SQL = "INSERT INTO stock_movement_outbox (payload, created_at) VALUES (?, ?)";
+    // FOR UPDATE SKIP LOCKED: o disparo pós-commit, o ciclo agendado e outras instâncias copiam lotes disjuntos
+    private static final String CLAIM_SQL = "SELECT id, payload FROM stock_movement_outbox ORDER BY id " +
+            "FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+    private static final String INSERT_SQL = "INSERT INTO stock_movements " +
+            "(product_id, movement_type, quantity, previous_stock, new_stock, reason, movement_date, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM stock_movement_outbox WHERE id IN (%s)";
+    private static final TypeReference<List<Movement>> MOVEMENTS = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.stock-audit.batch-size:500}")
+    private int batchSize;
+
+    public record Movement(Long productId, StockMovementType movementType, Integer quantity,
+                           Integer previousStock, Integer newStock, String reason,
+                           LocalDateTime movementDate, String createdBy) {
+    }
+
+    // Participa da transação do chamador: um insert de uma linha, qualquer que seja o número de movimentações
+    public void record(List<Movement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(movements);
+        } catch (JsonProcessingException e) {
+            // Propaga e desfaz a alteração de estoque: ela não pode ser confirmada sem o histórico
+            throw new IllegalStateException("Falha ao serializar " + movements.size() + " movimentações de estoque", e);
+        }
+        jdbcTemplate.update(STAGE_SQL, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Toda alteração de estoque que grava o outbox publica um ProductStockChangedEvent. O executor tem uma
+    // thread e uma posição na fila: com uma cópia já enfileirada o disparo é descartado, pois ela lerá
+    // também as linhas deste commit
+    @Async("stockAuditExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock-audit.flush-interval:30s}")
+    public void flush() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer copied;
+        do {
+            try {
+                copied = transactionTemplate.execute(status -> copyBatch());
+            } catch (RuntimeException e) {
+                // As linhas continuam no outbox e são copiadas no próximo disparo ou ciclo
+                log.warn("Falha ao copiar movimentações de estoque; nova tentativa no próximo ciclo: {}", e.getMessage());
+                return;
+            }
+        } while (copied != null && copied == batchSize);
+    }
+
+    int copyBatch() {
+        List<Long> ids = new ArrayList<>();
+        List<Movement> movements = new ArrayList<>();
+        jdbcTemplate.query(CLAIM_SQL, rs -> {
+            ids.add(rs.getLong("id"));
+            movements.addAll(parse(rs.getString("payload")));
+        }, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, batchSize, (ps, movement) -> {
+            ps.setLong(1, movement.productId());
+            ps.setString(2, movement.movementType().name());
+            ps.setInt(3, movement.quantity());
+            ps.setInt(4, movement.previousStock());
+            ps.setInt(5, movement.newStock());
+            ps.setString(6, movement.reason());
+            ps.setTimestamp(7, Timestamp.valueOf(movement.movementDate()));
+            ps.setString(8, movement.createdBy());
+        });
+        jdbcTemplate.update(DELETE_SQL.formatted(String.join(", ", Collections.nCopies(ids.size(), "?"))),
+                ids.toArray());
+        return ids.size();
+    }
+
+    private List<Movement> parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, MOVEMENTS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Movimentações de estoque ilegíveis no outbox", e);
+        }
+    }
+}
@@ -5,8 +5,12 @@ import com.guarani.ordersystem.entity.User;
 import com.guarani.ordersystem.entity.enums.Role;
 import com.guarani.ordersystem.exception.ResourceNotFoundException;
 import com.guarani.ordersystem.repository.UserRepository;
+import com.guarani.ordersystem.util.Constants;
+import com.guarani.ordersystem.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -26,6 +30,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
 
     @Cacheable(key = "#id")
     @Transactional(readOnly = true)
@@ -71,6 +76,7 @@ public class UserService {
         roles.forEach(user::addRole);
 
         User updatedUser = userRepository.save(user);
+        evictPrincipal(updatedUser.getEmail());
         return mapToUserResponse(updatedUser);
     }
 
@@ -78,10 +84,10 @@ public class UserService {
     @Transactional
     public void deleteUser(Long id) {
         log.info("Deletando usuário ID: {}", id);
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Usuário", "id", id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
         userRepository.deleteById(id);
+        evictPrincipal(user.getEmail());
     }
 
     @CacheEvict(allEntries = true)
@@ -95,6 +101,7 @@ public class UserService {
             if (userRepository.existsByEmail(email)) {
                 throw new IllegalArgumentException("Email já está em uso");
             }
+            evictPrincipal(user.getEmail());
             user.setEmail(email);
         }
 
@@ -103,9 +110,19 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        evictPrincipal(updatedUser.getEmail());
         return mapToUserResponse(updatedUser);
     }
 
+    // Remove o principal em cache usado pelo filtro JWT, que é indexado por email. Só após o commit:
+    // antes dele, uma requisição concorrente recarregaria as roles antigas (ou o usuário excluído) por todo o TTL
+    private void evictPrincipal(String email) {
+        Cache cache = cacheManager.getCache(Constants.CACHE_PRINCIPALS);
+        if (cache != null && email != null) {
+            TransactionUtils.afterCommit(() -> cache.evict(email));
+        }
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
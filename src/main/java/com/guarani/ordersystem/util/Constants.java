@@ -16,6 +16,7 @@ public class Constants {
     public static final String CACHE_CATEGORIES = "categories";
     public static final String CACHE_USERS = "users";
     public static final String CACHE_ORDERS = "orders";
+    public static final String CACHE_PRINCIPALS = "principals";
 
     // Security
     public static final String TOKEN_PREFIX = "Bearer ";
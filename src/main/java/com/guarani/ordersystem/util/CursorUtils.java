@@ -0,0 +1,50 @@
+package com.guarani.ordersystem.util;
+
+import com.guarani.ordersystem.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+    private static final int MAX_CURSOR_PAGE_SIZE = Integer.parseInt(Constants.MAX_PAGE_SIZE);
+
+    private CursorUtils() {
+        // Utility class
+    }
+
+    // O cursor é opaco para o cliente: os valores da última linha da página em Base64 URL-safe
+    public static String encode(Object... values) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedValues) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = raw.split("\\" + SEPARATOR, -1);
+            if (values.length != expectedValues) {
+                throw new BusinessException("Cursor de paginação inválido");
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido", e);
+        }
+    }
+
+    public static boolean isPresent(String cursor) {
+        return cursor != null && !cursor.trim().isEmpty();
+    }
+
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+}
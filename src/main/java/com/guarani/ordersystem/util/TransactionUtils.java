@@ -0,0 +1,26 @@
+package com.guarani.ordersystem.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    private TransactionUtils() {
+        // Utility class
+    }
+
+    // Executa a ação após o commit da transação atual; sem transação ativa, executa imediatamente.
+    // Usado para invalidar caches: antes do commit um leitor concorrente recarregaria o valor antigo
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- Migration: V10__create_stock_alert_thresholds.sql
+-- Description: Limites de estoque baixo por produto ou categoria, usados pelo LowStockTracker
+
+-- Precedência: limite do produto, depois o da categoria, depois app.low-stock.default-threshold.
+-- Um produto está com estoque baixo quando stock_quantity < threshold; limite 0 desativa o alerta.
+CREATE TABLE stock_alert_thresholds (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT UNIQUE REFERENCES products(id),
+    category VARCHAR(100) UNIQUE,
+    threshold INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_stock_alert_threshold_scope CHECK ((product_id IS NULL) <> (category IS NULL)),
+    CONSTRAINT chk_stock_alert_threshold_non_negative CHECK (threshold >= 0)
+);
+
+-- O conjunto de produtos com estoque baixo é mantido em memória e lido por GET /api/products/low-stock
+DROP VIEW IF EXISTS critical_stock;
@@ -0,0 +1,8 @@
+-- Migration: V11__add_optimistic_locking_versions.sql
+-- Description: Coluna de versão para controle de concorrência otimista em pedidos e produtos
+
+-- Incrementada pelo Hibernate a cada UPDATE da entidade e pelas atualizações de estoque em massa
+-- (ProductRepository e ProductService), para que uma edição baseada em leitura antiga falhe em vez
+-- de sobrescrever o estoque
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,17 @@
+-- Migration: V12__create_sales_rollup_deltas.sql
+-- Description: Deltas dos agregados de vendas gravados após o commit do pedido e aplicados pelo SalesRollupRecorder
+
+-- Só inserts, sem disputa pela linha do dia corrente. O recálculo do SalesAnalyticsService apaga,
+-- no mesmo snapshot em que relê os pedidos, os deltas do período ainda não aplicados.
+CREATE TABLE sales_rollup_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    rollup VARCHAR(20) NOT NULL, -- DAILY, CATEGORY, PAYMENT
+    sale_date DATE NOT NULL,
+    rollup_key VARCHAR(100),
+    count_delta BIGINT NOT NULL,
+    cancelled_delta BIGINT NOT NULL,
+    amount_delta DECIMAL(19,2) NOT NULL,
+    cancelled_amount_delta DECIMAL(19,2) NOT NULL
+);
+
+CREATE INDEX idx_sales_rollup_deltas_sale_date ON sales_rollup_deltas (sale_date);
@@ -0,0 +1,11 @@
+-- Migration: V13__create_stock_movement_outbox.sql
+-- Description: Outbox das movimentações de estoque, copiadas para stock_movements pelo StockMovementRecorder
+
+-- Uma linha por alteração de estoque, gravada na mesma transação, com todas as movimentações dela em JSON:
+-- o checkout paga um insert de uma linha, sem as chaves, os índices e a chave estrangeira de stock_movements.
+-- A linha é removida quando copiada. Sem chave estrangeira: a gravação não disputa locks com products.
+CREATE TABLE stock_movement_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
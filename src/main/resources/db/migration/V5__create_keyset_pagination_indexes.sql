@@ -0,0 +1,11 @@
+-- Migration: V5__create_keyset_pagination_indexes.sql
+-- Description: Índices para paginação por cursor (keyset) de pedidos e produtos
+
+-- Listagem geral de pedidos: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_orders_created_at_id ON orders(created_at DESC, id DESC);
+
+-- Listagem de pedidos do usuário: filtra por user_id e percorre (created_at, id)
+CREATE INDEX idx_orders_user_created_at_id ON orders(user_id, created_at DESC, id DESC);
+
+-- Listagem de produtos ativos percorrida pela chave primária
+CREATE INDEX idx_products_active_id ON products(id) WHERE active = true;
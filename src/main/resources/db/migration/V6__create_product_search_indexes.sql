@@ -0,0 +1,16 @@
+-- Migration: V6__create_product_search_indexes.sql
+-- Description: Busca textual de produtos com ranking (tsvector) e tolerância a erros de digitação (trigramas)
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Documento de busca mantido pelo próprio banco: nome com peso maior que a descrição
+ALTER TABLE products
+ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+
+-- Trigramas do nome para similaridade (word_similarity / operador <%)
+CREATE INDEX idx_products_name_trgm ON products USING GIN (lower(name) gin_trgm_ops);
@@ -0,0 +1,19 @@
+-- Migration: V7__use_pooled_id_sequences.sql
+-- Description: Sequências com incremento 50 para o gerador pooled do Hibernate (habilita inserts em lote)
+
+-- As entidades reutilizam as sequências criadas pelos BIGSERIAL. Com o otimizador pooled cada nextval
+-- reserva o intervalo (valor - 49, valor], e o DEFAULT nextval das colunas continua válido para inserts
+-- feitos fora do Hibernate, pois cada valor devolvido pela sequência só é usado uma vez.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE product_price_history_id_seq INCREMENT BY 50;
+
+-- Posiciona cada sequência no maior id existente: o próximo nextval devolve max(id) + 50 e o
+-- primeiro intervalo reservado começa logo após os dados atuais
+SELECT setval('users_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), 1));
+SELECT setval('products_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM products), 1));
+SELECT setval('orders_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders), 1));
+SELECT setval('order_items_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM order_items), 1));
+SELECT setval('product_price_history_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM product_price_history), 1));
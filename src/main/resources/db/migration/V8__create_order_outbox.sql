@@ -0,0 +1,27 @@
+-- Migration: V8__create_order_outbox.sql
+-- Description: Outbox transacional dos eventos de pedido, lido em lotes pelo OrderOutboxRelay
+
+-- Cada linha é gravada na mesma transação que altera o pedido. Sem chave estrangeira para orders:
+-- o evento sobrevive ao pedido e a gravação não disputa locks com ele.
+CREATE TABLE order_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+-- Id atribuído pelo banco a cada insert (IDENTITY na entidade), sem o incremento 50 da V7: com blocos
+-- reservados por instância a ordem dos ids não acompanharia a ordem de commit dos eventos de um pedido
+
+-- O relay só lê eventos pendentes em ordem de id; o índice parcial fica do tamanho da fila, não do histórico
+CREATE INDEX idx_order_outbox_pending ON order_outbox (id) WHERE published_at IS NULL;
+
+-- NOT EXISTS do claimPending: evento pendente anterior do mesmo pedido, resolvido no índice sem varrer a fila
+CREATE INDEX idx_order_outbox_pending_order ON order_outbox (order_id, id) WHERE published_at IS NULL;
+
+-- Limpeza periódica dos eventos já publicados
+CREATE INDEX idx_order_outbox_published_at ON order_outbox (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,60 @@
+-- Migration: V9__create_sales_rollups.sql
+-- Description: Agregados de vendas mantidos incrementalmente, substituindo a view sales_report
+
+-- Vendas por dia de criação do pedido; cancelamentos ficam em colunas próprias (líquido = bruto - cancelado)
+CREATE TABLE daily_sales (
+    sale_date DATE PRIMARY KEY,
+    orders_count BIGINT NOT NULL DEFAULT 0,
+    cancelled_count BIGINT NOT NULL DEFAULT 0,
+    gross_amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    cancelled_amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Itens vendidos por dia de criação do pedido e categoria, já descontados os pedidos cancelados
+CREATE TABLE category_sales (
+    sale_date DATE NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    items_quantity BIGINT NOT NULL DEFAULT 0,
+    amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sale_date, category)
+);
+
+-- Pagamentos aprovados por dia de aprovação e forma de pagamento (estornos posteriores continuam contados)
+CREATE TABLE payment_method_sales (
+    sale_date DATE NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,
+    approved_count BIGINT NOT NULL DEFAULT 0,
+    approved_amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sale_date, payment_method)
+);
+
+-- Carga inicial com todo o histórico, com as mesmas regras do recálculo do SalesAnalyticsService
+INSERT INTO daily_sales (sale_date, orders_count, cancelled_count, gross_amount, cancelled_amount, updated_at)
+SELECT CAST(o.created_at AS DATE), COUNT(*),
+       SUM(CASE WHEN o.status = 'CANCELLED' THEN 1 ELSE 0 END),
+       SUM(o.total_amount),
+       SUM(CASE WHEN o.status = 'CANCELLED' THEN o.total_amount ELSE 0 END),
+       CURRENT_TIMESTAMP
+FROM orders o
+GROUP BY CAST(o.created_at AS DATE);
+
+INSERT INTO category_sales (sale_date, category, items_quantity, amount, updated_at)
+SELECT CAST(o.created_at AS DATE), p.category, SUM(oi.quantity), SUM(oi.total_price), CURRENT_TIMESTAMP
+FROM orders o
+JOIN order_items oi ON oi.order_id = o.id
+JOIN products p ON p.id = oi.product_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY CAST(o.created_at AS DATE), p.category;
+
+INSERT INTO payment_method_sales (sale_date, payment_method, approved_count, approved_amount, updated_at)
+SELECT CAST(o.payment_date AS DATE), COALESCE(o.payment_method, 'NAO_INFORMADO'), COUNT(*), SUM(o.total_amount),
+       CURRENT_TIMESTAMP
+FROM orders o
+WHERE o.payment_status IN ('APPROVED', 'REFUNDED') AND o.payment_date IS NOT NULL
+GROUP BY CAST(o.payment_date AS DATE), COALESCE(o.payment_method, 'NAO_INFORMADO');
+
+-- Os painéis passam a ler os agregados por GET /api/analytics/sales
+DROP VIEW IF EXISTS sales_report;
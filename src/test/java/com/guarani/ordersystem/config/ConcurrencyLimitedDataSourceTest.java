@@ -0,0 +1,116 @@
+package com.guarani.ordersystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void getConnection_ShouldFailFast_WhenAllPermitsAreInUse() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(20));
+
+        // Act
+        Connection first = dataSource.getConnection();
+
+        // Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+
+        first.close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldNotWaitForAnotherPermit_WhenThreadAlreadyHoldsOne() throws SQLException {
+        // Arrange: transação externa com a única permissão
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(20));
+        Connection outer = dataSource.getConnection();
+
+        // Act: REQUIRES_NEW na mesma thread
+        Connection nested = dataSource.getConnection();
+
+        // Assert: outras threads continuam limitadas e a permissão volta só com a conexão externa
+        assertNotNull(nested);
+        CompletionException otherThread = assertThrows(CompletionException.class, () ->
+                CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return dataSource.getConnection();
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                }).join());
+        assertInstanceOf(SQLTransientConnectionException.class, otherThread.getCause());
+
+        nested.close();
+        assertEquals(0, dataSource.getAvailablePermits());
+        outer.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void close_ShouldKeepPermit_WhenOuterConnectionClosesBeforeNestedOne() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(20));
+        Connection outer = dataSource.getConnection();
+        Connection nested = dataSource.getConnection();
+
+        // Act
+        outer.close();
+
+        // Assert: a aninhada continua aberta e segura a permissão até fechar
+        assertEquals(0, dataSource.getAvailablePermits());
+        nested.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void close_ShouldReleasePermitOnlyOnce() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(20));
+
+        // Act
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        // Assert
+        assertEquals(2, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_ShouldReleasePermit_WhenTargetFails() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("indisponível"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(20));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
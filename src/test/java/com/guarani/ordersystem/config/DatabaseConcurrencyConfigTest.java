@@ -0,0 +1,27 @@
+package com.guarani.ordersystem.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseConcurrencyConfigTest {
+
+    @Test
+    void maxConcurrent_ShouldLeaveOnePoolConnection_WhenNotConfigured() {
+        // Act & Assert
+        assertEquals(9, DatabaseConcurrencyConfig.maxConcurrent(10, 0));
+    }
+
+    @Test
+    void maxConcurrent_ShouldKeepConfiguredLimit_WhenBelowPoolSize() {
+        // Act & Assert
+        assertEquals(6, DatabaseConcurrencyConfig.maxConcurrent(10, 6));
+    }
+
+    @Test
+    void maxConcurrent_ShouldFail_WhenLimitReachesPoolSize() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> DatabaseConcurrencyConfig.maxConcurrent(10, 10));
+        assertThrows(IllegalStateException.class, () -> DatabaseConcurrencyConfig.maxConcurrent(1, 0));
+    }
+}
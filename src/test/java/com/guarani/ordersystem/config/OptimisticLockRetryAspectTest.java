@@ -0,0 +1,121 @@
+package com.guarani.ordersystem.config;
+
+import com.guarani.ordersystem.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictingService target;
+    private ConflictingService service;
+
+    public static class ConflictingService {
+        int conflicts;
+        int calls;
+
+        @RetryOnOptimisticLock
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Order.class, 1L);
+            }
+            return "atualizado";
+        }
+
+        @RetryOnOptimisticLock(maxAttempts = 2)
+        public String updateWithTwoAttempts() {
+            return update();
+        }
+
+        @RetryOnOptimisticLock
+        public String failWithOtherError() {
+            calls++;
+            throw new IllegalStateException("falha");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OptimisticLockRetryAspect aspect = new OptimisticLockRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "initialBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(aspect, "maxBackoff", Duration.ofMillis(2));
+
+        target = new ConflictingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+    }
+
+    @Test
+    void retry_ShouldRepeatUntilSuccess_AndCountConflicts() {
+        // Arrange
+        target.conflicts = 2;
+
+        // Act
+        String result = service.update();
+
+        // Assert
+        assertEquals("atualizado", result);
+        assertEquals(3, target.calls);
+        assertEquals(2.0, count("optimistic.lock.conflicts"));
+        assertEquals(2.0, count("optimistic.lock.retries"));
+        assertEquals(0.0, count("optimistic.lock.exhausted"));
+    }
+
+    @Test
+    void retry_ShouldRethrowConflict_WhenAttemptsAreExhausted() {
+        // Arrange
+        target.conflicts = 5;
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, service::updateWithTwoAttempts);
+
+        assertEquals(2, target.calls);
+        assertEquals(2.0, count("optimistic.lock.conflicts"));
+        assertEquals(1.0, count("optimistic.lock.retries"));
+        assertEquals(1.0, count("optimistic.lock.exhausted"));
+    }
+
+    @Test
+    void retry_ShouldNotRepeatOtherErrors() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, service::failWithOtherError);
+
+        assertEquals(1, target.calls);
+        assertEquals(0.0, count("optimistic.lock.conflicts"));
+    }
+
+    @Test
+    void retry_ShouldNotRepeat_InsideExistingTransaction() {
+        // Arrange
+        target.conflicts = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act & Assert
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, service::update);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, target.calls);
+    }
+
+    private double count(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
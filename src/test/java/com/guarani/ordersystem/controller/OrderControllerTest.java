@@ -5,7 +5,10 @@ import com.guarani.ordersystem.dto.*;
 import com.guarani.ordersystem.entity.enums.OrderStatus;
 import com.guarani.ordersystem.entity.enums.PaymentMethod;
 import com.guarani.ordersystem.entity.enums.PaymentStatus;
+import com.guarani.ordersystem.exception.BusinessException;
 import com.guarani.ordersystem.exception.ResourceNotFoundException;
+import com.guarani.ordersystem.service.OrderExportService;
+import com.guarani.ordersystem.service.OrderImportService;
 import com.guarani.ordersystem.service.OrderService;
 import com.guarani.ordersystem.util.SecurityUtils;
 import org.junit.jupiter.api.Test;
@@ -44,6 +47,12 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private OrderImportService orderImportService;
+
     @MockBean
     private SecurityUtils securityUtils;
 
@@ -85,6 +94,31 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.content[0].id").value(1));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getOrdersByCursor_ShouldReturnPageWithNextCursor_WhenAdmin() throws Exception {
+        // Arrange
+        OrderResponse order = createOrderResponse(1L, "user@email.com", OrderStatus.PENDING);
+
+        CursorPageResponse<OrderResponse> page = CursorPageResponse.<OrderResponse>builder()
+                .content(List.of(order))
+                .pageSize(1)
+                .nextCursor("abc")
+                .hasNext(true)
+                .build();
+        when(orderService.findAllByCursor(eq("xyz"), eq(1))).thenReturn(page);
+        when(securityUtils.hasRole("ADMIN")).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/cursor")
+                        .param("cursor", "xyz")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value("abc"));
+    }
+
     @Test
     @WithMockUser
     void getOrderById_ShouldReturnOrder_WhenOrderExists() throws Exception {
@@ -102,6 +136,22 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.status").value("PENDING"));
     }
 
+    @Test
+    @WithMockUser(username = "outro@email.com")
+    void getOrderById_ShouldReturnBadRequest_WhenUserCannotAccessOrder() throws Exception {
+        // Arrange: o pedido pode vir do cache, então a permissão é verificada no controller
+        OrderResponse order = createOrderResponse(1L, "user@email.com", OrderStatus.PENDING);
+        when(orderService.findById(1L)).thenReturn(order);
+        doThrow(new BusinessException("Acesso negado para visualizar este pedido"))
+                .when(orderService).checkOrderAccessPermission(order);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Acesso negado para visualizar este pedido"));
+        verify(orderService).checkOrderAccessPermission(order);
+    }
+
     @Test
     @WithMockUser
     void getOrderById_ShouldReturnNotFound_WhenOrderNotExists() throws Exception {
@@ -196,6 +246,38 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.status").value("PENDING"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importOrders_ShouldReturnPerOrderResults() throws Exception {
+        // Arrange
+        BulkOrderRequest request = BulkOrderRequest.builder()
+                .orders(List.of(BulkOrderRequest.OrderEntry.builder()
+                        .externalId("MKT-1")
+                        .userEmail("user@email.com")
+                        .items(List.of(OrderRequest.OrderItemRequest.builder().productId(1L).quantity(2).build()))
+                        .build()))
+                .build();
+
+        BulkOrderResponse response = BulkOrderResponse.of(List.of(BulkOrderResponse.OrderResult.builder()
+                .index(0)
+                .externalId("MKT-1")
+                .success(true)
+                .orderId(10L)
+                .build()));
+
+        when(orderImportService.importOrders(any(BulkOrderRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/orders/import")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Importação concluída: 1 pedidos criados, 0 com erro"))
+                .andExpect(jsonPath("$.data.results[0].orderId").value(10));
+    }
+
     @Test
     @WithMockUser
     void createOrder_ShouldReturnBadRequest_WhenInvalidRequest() throws Exception {
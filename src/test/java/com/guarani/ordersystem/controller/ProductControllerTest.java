@@ -331,6 +331,78 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.stockQuantity").value(20));
     }
 
+    @Test
+    @WithMockUser(roles = {"OPERATOR"})
+    void updateStockBulk_ShouldReturnRejectedItems() throws Exception {
+        // Arrange
+        BulkStockUpdateRequest request = BulkStockUpdateRequest.builder()
+                .items(List.of(BulkStockUpdateRequest.StockUpdateItem.builder()
+                        .productId(1L)
+                        .movementType(StockMovementType.AJUSTE)
+                        .quantity(0)
+                        .reason("Inventário")
+                        .build()))
+                .build();
+
+        BulkStockUpdateResponse response = BulkStockUpdateResponse.builder()
+                .total(1)
+                .updated(0)
+                .failed(1)
+                .failures(List.of(new BulkStockUpdateResponse.StockUpdateFailure(1L, "Produto não encontrado")))
+                .build();
+
+        when(productService.updateStockBulk(anyList())).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/stock")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.failures[0].productId").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = {"OPERATOR"})
+    void updateStockBulk_ShouldReturnBadRequest_WhenZeroQuantityIsNotAdjustment() throws Exception {
+        // Arrange
+        BulkStockUpdateRequest request = BulkStockUpdateRequest.builder()
+                .items(List.of(BulkStockUpdateRequest.StockUpdateItem.builder()
+                        .productId(1L)
+                        .movementType(StockMovementType.SAIDA)
+                        .quantity(0)
+                        .build()))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/stock")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).updateStockBulk(anyList());
+    }
+
+    @Test
+    @WithMockUser(roles = {"OPERATOR"})
+    void updateLowStockThreshold_ShouldDelegateToService() throws Exception {
+        // Arrange
+        LowStockThresholdRequest request = LowStockThresholdRequest.builder().threshold(3).build();
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/1/low-stock-threshold")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Limite de estoque baixo atualizado"));
+
+        verify(productService, times(1)).updateLowStockThreshold(1L, 3);
+    }
+
     @Test
     @WithMockUser(roles = {"OPERATOR"})
     void deleteProduct_ShouldDeactivateProduct() throws Exception {
@@ -0,0 +1,206 @@
+package com.guarani.ordersystem.integration;
+
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.OrderItem;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.entity.enums.Role;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.OrderRepository;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.UserRepository;
+import com.guarani.ordersystem.service.OrderService;
+import com.guarani.ordersystem.service.ProductService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJAroundAdvice;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Sem @Transactional: os dois cancelamentos rodam em threads próprias, cada um com a sua transação
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticLockRetryIntegrationTest {
+
+    private static final String CANCEL_ORDER = "OrderService.cancelOrder";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ProductService productService;
+
+    private Product product;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Cliente");
+        user.setEmail("cliente.concorrente@email.com");
+        user.setPassword("password");
+        user.setRoles(Set.of(Role.CLIENT));
+        user.setCreatedAt(LocalDateTime.now());
+        userRepository.save(user);
+
+        product = new Product();
+        product.setName("Mouse");
+        product.setPrice(BigDecimal.valueOf(50));
+        product.setCategory("PERIFERICOS");
+        product.setStockQuantity(10);
+        product.setActive(true);
+        product.setCreatedAt(LocalDateTime.now());
+        productRepository.save(product);
+
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(3);
+        item.setUnitPrice(product.getPrice());
+        item.calculateTotalPrice();
+
+        order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING);
+        order.addItem(item);
+        order.recalculateTotalAmount();
+        orderRepository.save(order);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Outbox antes do histórico: espera uma cópia pós-commit em andamento terminar de gravar stock_movements
+        jdbcTemplate.update("DELETE FROM stock_movement_outbox");
+        jdbcTemplate.update("DELETE FROM stock_movements");
+        jdbcTemplate.update("DELETE FROM sales_rollup_deltas");
+        jdbcTemplate.update("DELETE FROM order_outbox");
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void cancelOrder_ShouldRestoreStockOnce_WhenTwoCancellationsConflict() throws Exception {
+        // Arrange: pedido no cache, e os dois cancelamentos só restauram o estoque depois que ambos leram
+        // o pedido pendente, forçando o conflito de versão no segundo commit
+        orderService.findById(order.getId());
+        double conflictsBefore = count("optimistic.lock.conflicts");
+        CountDownLatch bothRead = new CountDownLatch(2);
+        AtomicInteger firstAttempts = new AtomicInteger(2);
+        doAnswer(invocation -> {
+            if (firstAttempts.getAndDecrement() > 0) {
+                bothRead.countDown();
+                bothRead.await(5, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(productService).updateStockBatch(anyMap(), eq(StockMovementType.ENTRADA), anyString());
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> cancellations = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                cancellations.add(executor.submit(() -> orderService.cancelOrder(order.getId())));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> cancellation : cancellations) {
+            try {
+                cancellation.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+
+        // Assert: a nova tentativa relê o pedido já cancelado e é rejeitada, sem restaurar o estoque de novo
+        assertEquals(1, failures.size());
+        assertInstanceOf(BusinessException.class, failures.get(0));
+        assertEquals(13, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+        assertEquals(conflictsBefore + 1, count("optimistic.lock.conflicts"));
+        assertNull(cacheManager.getCache("orders").get(order.getId()));
+    }
+
+    @Test
+    void advisors_ShouldRunRetryThenCacheThenTransaction() {
+        // Arrange
+        Advisor[] advisors = ((Advised) orderService).getAdvisors();
+
+        // Act
+        int retry = indexOf(advisors, advice -> advice instanceof AspectJAroundAdvice around
+                && "optimisticLockRetryAspect".equals(around.getAspectName()));
+        int transaction = indexOf(advisors, TransactionInterceptor.class::isInstance);
+        int cache = indexOf(advisors, CacheInterceptor.class::isInstance);
+
+        // Assert: cada tentativa abre a própria transação e passa de novo pelo cache, que só grava após o commit
+        assertTrue(retry >= 0, "aspecto de retentativa ausente no proxy do OrderService");
+        assertTrue(retry < transaction, "retentativa deve preceder o interceptor de transação");
+        assertTrue(retry < cache, "retentativa deve preceder o interceptor de cache");
+        assertTrue(cache < transaction, "cache deve envolver a transação para gravar só após o commit");
+    }
+
+    private double count(String name) {
+        return meterRegistry.find(name).tag("method", CANCEL_ORDER).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static int indexOf(Advisor[] advisors, Predicate<Object> matches) {
+        for (int i = 0; i < advisors.length; i++) {
+            if (matches.test(advisors[i].getAdvice())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -9,6 +9,7 @@ import com.guarani.ordersystem.entity.enums.Role;
 import com.guarani.ordersystem.repository.ProductRepository;
 import com.guarani.ordersystem.repository.UserRepository;
 import com.guarani.ordersystem.security.JwtService;
+import com.guarani.ordersystem.service.LowStockTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,6 +51,9 @@ class ProductIntegrationTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private LowStockTracker lowStockTracker;
+
     private String operatorToken;
     private String adminToken;
 
@@ -301,6 +305,8 @@ class ProductIntegrationTest {
                 .active(true)
                 .build();
         productRepository.save(lowStockProduct);
+        // Gravado direto no repositório, sem eventos de ProductService: recarrega o monitor de estoque baixo
+        lowStockTracker.rebuild();
 
         // Act & Assert
         mockMvc.perform(get("/api/products/low-stock")
@@ -0,0 +1,61 @@
+package com.guarani.ordersystem.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Armazena latências em nanossegundos de um cenário; capacidade fixa para não alocar durante a medição
+class LatencyRecorder {
+
+    private final String scenario;
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    LatencyRecorder(String scenario, int capacity) {
+        this.scenario = scenario;
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    void record(long nanos, boolean success) {
+        long index = count.getAndIncrement();
+        if (index < samples.length()) {
+            samples.set((int) index, nanos);
+        }
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    // Percentis pelo método nearest-rank, em milissegundos
+    double[] percentilesMillis(double... percentiles) {
+        int size = (int) Math.min(count.get(), samples.length());
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (size == 0) {
+                continue;
+            }
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * size);
+            result[i] = sorted[Math.max(0, Math.min(size, rank) - 1)] / 1_000_000.0;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,327 @@
+package com.guarani.ordersystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guarani.ordersystem.dto.AuthenticationRequest;
+import com.guarani.ordersystem.dto.OrderRequest;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.Role;
+import com.guarani.ordersystem.repository.OrderRepository;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Harness de carga ponta a ponta: sobe a aplicação completa sobre H2 em modo PostgreSQL,
+// semeia usuários e produtos e reproduz um mix configurável de operações via HTTP.
+//
+// mvn -f pow.xml test -Dtest=OrderSystemLoadTest -Dloadtest=true \
+//     -Dloadtest.users=50 -Dloadtest.products=1000 -Dloadtest.requests=20000 \
+//     -Dloadtest.concurrency=32 -Dloadtest.mix=login:5,browse:40,search:25,checkout:20,cancel:10
+//
+// O relatório é impresso no console e gravado em target/loadtest-report.csv.
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.flyway.enabled=false",
+                "logging.level.com.guarani.ordersystem=WARN"
+        }
+)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class OrderSystemLoadTest {
+
+    private static final String PASSWORD = "loadtest123";
+    private static final String[] CATEGORIES = {
+            "ELETRONICOS", "INFORMATICA", "AUDIO", "PERIFERICOS", "COMPONENTES", "MOVEIS", "TV_VIDEO"
+    };
+
+    private final int userCount = Integer.getInteger("loadtest.users", 50);
+    private final int productCount = Integer.getInteger("loadtest.products", 1000);
+    private final int requestCount = Integer.getInteger("loadtest.requests", 20000);
+    private final int warmupCount = Integer.getInteger("loadtest.warmup", 2000);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final Map<String, Integer> mix =
+            parseMix(System.getProperty("loadtest.mix", "login:5,browse:40,search:25,checkout:20,cancel:10"));
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<ConcurrentLinkedQueue<Long>> openOrders = new ArrayList<>();
+
+    @BeforeEach
+    void seed() throws Exception {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setName("Cliente " + i);
+            user.setEmail("cliente" + i + "@loadtest.com");
+            user.setPassword(encodedPassword);
+            user.setRoles(new HashSet<>(Set.of(Role.CLIENT)));
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setName("Produto " + i + " " + CATEGORIES[i % CATEGORIES.length].toLowerCase(Locale.ROOT));
+            product.setDescription("Produto de teste de carga número " + i);
+            product.setPrice(BigDecimal.valueOf(1000 + (i * 37L) % 500000, 2));
+            product.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            product.setStockQuantity(1_000_000);
+            product.setActive(true);
+            products.add(product);
+        }
+        productRepository.saveAll(products).forEach(product -> productIds.add(product.getId()));
+
+        for (User user : userRepository.findAll()) {
+            emails.add(user.getEmail());
+            tokens.add(login(user.getEmail()).token());
+            openOrders.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    @Test
+    void replayMixedWorkload() throws Exception {
+        Map<String, LatencyRecorder> warmup = run(warmupCount);
+        assertNoServerErrors(warmup);
+
+        long start = System.nanoTime();
+        Map<String, LatencyRecorder> results = run(requestCount);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        report(results, elapsedSeconds);
+        assertNoServerErrors(results);
+    }
+
+    private Map<String, LatencyRecorder> run(int operations) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        mix.keySet().forEach(scenario -> recorders.put(scenario, new LatencyRecorder(scenario, operations)));
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger remaining = new AtomicInteger(operations);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int worker = 0; worker < concurrency; worker++) {
+            executor.execute(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (remaining.getAndDecrement() > 0) {
+                        String scenario = pickScenario(random.nextInt(totalWeight));
+                        int user = random.nextInt(userCount);
+                        long begin = System.nanoTime();
+                        boolean success;
+                        try {
+                            success = execute(scenario, user, random);
+                        } catch (Exception e) {
+                            success = false;
+                        }
+                        recorders.get(scenario).record(System.nanoTime() - begin, success);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return recorders;
+    }
+
+    private boolean execute(String scenario, int user, ThreadLocalRandom random) throws Exception {
+        return switch (scenario) {
+            case "login" -> login(emails.get(user)).status() == 200;
+            case "browse" -> get("/api/products?page=" + random.nextInt(Math.max(1, productCount / 20))
+                    + "&size=20", tokens.get(user)).statusCode() == 200;
+            case "search" -> get("/api/products/search?name=produto%20" + random.nextInt(productCount)
+                    + "&category=" + CATEGORIES[random.nextInt(CATEGORIES.length)]
+                    + "&minPrice=10&maxPrice=5000", tokens.get(user)).statusCode() == 200;
+            case "checkout" -> checkout(user, random);
+            case "cancel" -> cancel(user);
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + scenario);
+        };
+    }
+
+    private boolean checkout(int user, ThreadLocalRandom random) throws Exception {
+        int items = 1 + random.nextInt(5);
+        List<OrderRequest.OrderItemRequest> itemRequests = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            itemRequests.add(OrderRequest.OrderItemRequest.builder()
+                    .productId(productIds.get(random.nextInt(productIds.size())))
+                    .quantity(1 + random.nextInt(3))
+                    .build());
+        }
+
+        HttpResponse<String> response = post("/api/orders",
+                OrderRequest.builder().items(itemRequests).build(), tokens.get(user));
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        long orderId = objectMapper.readTree(response.body()).path("data").path("id").asLong();
+        openOrders.get(user).add(orderId);
+        return true;
+    }
+
+    private boolean cancel(int user) throws Exception {
+        Long orderId = openOrders.get(user).poll();
+        if (orderId == null) {
+            // Sem pedido aberto para cancelar: mede a leitura da lista de pedidos do usuário
+            return get("/api/orders?page=0&size=20", tokens.get(user)).statusCode() == 200;
+        }
+        return post("/api/orders/" + orderId + "/cancel", null, tokens.get(user)).statusCode() == 200;
+    }
+
+    private LoginResult login(String email) throws Exception {
+        HttpResponse<String> response = post("/api/auth/login",
+                new AuthenticationRequest(email, PASSWORD), null);
+        JsonNode body = objectMapper.readTree(response.body());
+        return new LoginResult(response.statusCode(), body.path("data").path("token").asText(null));
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return httpClient.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        return httpClient.send(request(path, token)
+                        .header("Content-Type", "application/json")
+                        .POST(publisher)
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private String pickScenario(int ticket) {
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix de cenários vazio");
+    }
+
+    private void report(Map<String, LatencyRecorder> results, double elapsedSeconds) throws IOException {
+        long total = results.values().stream().mapToLong(LatencyRecorder::getCount).sum();
+
+        StringBuilder csv = new StringBuilder("scenario,requests,errors,p50_ms,p95_ms,p99_ms,max_ms\n");
+        System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s%n",
+                "cenário", "requisições", "erros", "p50 (ms)", "p95 (ms)", "p99 (ms)", "máx (ms)");
+        for (LatencyRecorder recorder : results.values()) {
+            double[] p = recorder.percentilesMillis(50, 95, 99, 100);
+            System.out.printf("%-10s %10d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    recorder.getScenario(), recorder.getCount(), recorder.getErrors(), p[0], p[1], p[2], p[3]);
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f%n",
+                    recorder.getScenario(), recorder.getCount(), recorder.getErrors(), p[0], p[1], p[2], p[3]));
+        }
+        System.out.printf("%nTotal: %d requisições em %.1f s - %.1f req/s (concorrência %d)%n",
+                total, elapsedSeconds, total / elapsedSeconds, concurrency);
+
+        Path output = Path.of("target", "loadtest-report.csv");
+        Files.createDirectories(output.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+            writer.print(csv);
+            writer.printf(Locale.ROOT, "total,%d,,,,,%n", total);
+            writer.printf(Locale.ROOT, "throughput_rps,%.1f,,,,,%n", total / elapsedSeconds);
+        }
+    }
+
+    private void assertNoServerErrors(Map<String, LatencyRecorder> results) {
+        long errors = results.values().stream().mapToLong(LatencyRecorder::getErrors).sum();
+        long total = results.values().stream().mapToLong(LatencyRecorder::getCount).sum();
+        assertTrue(errors <= total / 100, "Taxa de erro acima de 1%: " + errors + " de " + total);
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            result.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return result;
+    }
+
+    private record LoginResult(int status, String token) {
+    }
+}
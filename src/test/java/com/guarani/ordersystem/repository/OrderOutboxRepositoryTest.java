@@ -0,0 +1,102 @@
+package com.guarani.ordersystem.repository;
+
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import com.guarani.ordersystem.entity.enums.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.test.database.replace=NONE",
+        "spring.datasource.url=jdbc:h2:mem:testdb"
+})
+class OrderOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Test
+    void claimPending_ShouldReturnUnpublishedEventsInIdOrder_SkippingExhaustedOnes() {
+        // Arrange
+        OrderOutboxEvent published = persist(1L, LocalDateTime.now(), 0);
+        OrderOutboxEvent pending = persist(2L, null, 0);
+        OrderOutboxEvent exhausted = persist(3L, null, 10);
+        OrderOutboxEvent retrying = persist(4L, null, 3);
+        entityManager.flush();
+
+        // Act
+        List<OrderOutboxEvent> claimed = outboxRepository.claimPending(10, PageRequest.of(0, 10));
+        List<OrderOutboxEvent> limited = outboxRepository.claimPending(10, PageRequest.of(0, 1));
+
+        // Assert
+        assertEquals(List.of(pending.getId(), retrying.getId()),
+                claimed.stream().map(OrderOutboxEvent::getId).toList());
+        assertEquals(List.of(pending.getId()), limited.stream().map(OrderOutboxEvent::getId).toList());
+        assertFalse(claimed.contains(published));
+        assertFalse(claimed.contains(exhausted));
+    }
+
+    @Test
+    void claimPending_ShouldReturnOnlyOldestPendingEventOfEachOrder() {
+        // Arrange
+        OrderOutboxEvent created = persist(1L, null, 0);
+        OrderOutboxEvent paid = persist(1L, null, 0);
+        OrderOutboxEvent otherOrder = persist(2L, null, 0);
+        OrderOutboxEvent exhausted = persist(3L, null, 10);
+        persist(3L, null, 0);
+        entityManager.flush();
+
+        // Act
+        List<Long> firstClaim = outboxRepository.claimPending(10, PageRequest.of(0, 10)).stream()
+                .map(OrderOutboxEvent::getId).toList();
+        created.setPublishedAt(LocalDateTime.now());
+        entityManager.flush();
+        List<Long> secondClaim = outboxRepository.claimPending(10, PageRequest.of(0, 10)).stream()
+                .map(OrderOutboxEvent::getId).toList();
+
+        // Assert: o evento esgotado do pedido 3 segura os posteriores dele
+        assertEquals(List.of(created.getId(), otherOrder.getId()), firstClaim);
+        assertEquals(List.of(paid.getId(), otherOrder.getId()), secondClaim);
+        assertNull(exhausted.getPublishedAt());
+    }
+
+    @Test
+    void deletePublishedBefore_ShouldKeepPendingAndRecentEvents() {
+        // Arrange
+        persist(1L, LocalDateTime.now().minusDays(8), 0);
+        OrderOutboxEvent recent = persist(2L, LocalDateTime.now(), 0);
+        OrderOutboxEvent pending = persist(3L, null, 0);
+        entityManager.flush();
+
+        // Act
+        int removed = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusDays(7));
+
+        // Assert
+        assertEquals(1, removed);
+        entityManager.clear();
+        assertEquals(List.of(recent.getId(), pending.getId()),
+                outboxRepository.findAll().stream().map(OrderOutboxEvent::getId).sorted().toList());
+    }
+
+    private OrderOutboxEvent persist(Long orderId, LocalDateTime publishedAt, int attempts) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setOrderId(orderId);
+        event.setEventType(OutboxEventType.ORDER_CREATED);
+        event.setPayload("{\"order\":{\"id\":" + orderId + "}}");
+        event.setPublishedAt(publishedAt);
+        event.setAttempts(attempts);
+        return entityManager.persist(event);
+    }
+}
@@ -411,13 +411,13 @@ class OrderRepositoryTest {
     }
 
     @Test
-    void findByUserEmail_ShouldWorkWithDifferentEmailCases() {
-        // Act
+    void findByUserEmail_ShouldMatchEmailExactly() {
+        // Act: mesma comparação do login e da verificação de dono (users.email, indexado)
         Page<Order> result1 = orderRepository.findByUserEmail("JOHN@EMAIL.COM", PageRequest.of(0, 10));
         Page<Order> result2 = orderRepository.findByUserEmail("john@email.com", PageRequest.of(0, 10));
 
         // Assert
-        assertEquals(2, result1.getTotalElements());
+        assertEquals(0, result1.getTotalElements());
         assertEquals(2, result2.getTotalElements());
     }
 
@@ -464,4 +464,42 @@ class OrderRepositoryTest {
         assertEquals(5, retrievedOrder.get().getItems().size());
         assertEquals(BigDecimal.valueOf(2999.99 * 15), retrievedOrder.get().getTotalAmount()); // 1+2+3+4+5 = 15 * price
     }
-}
\ No newline at end of file
+
+    @Test
+    void keysetPages_ShouldWalkAllOrdersByCreatedAtDescWithoutGapsOrDuplicates() {
+        // Arrange
+        Pageable limit = PageRequest.of(0, 2);
+
+        // Act
+        List<Order> firstPage = orderRepository.findFirstKeysetPage(limit);
+        Order last = firstPage.get(firstPage.size() - 1);
+        List<Order> secondPage = orderRepository.findKeysetPageAfter(last.getCreatedAt(), last.getId(), limit);
+
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertFalse(firstPage.contains(secondPage.get(0)));
+        assertFalse(secondPage.get(0).getCreatedAt().isAfter(last.getCreatedAt()));
+    }
+
+    @Test
+    void keysetPagesByUserEmail_ShouldOnlyReturnUserOrders() {
+        // Arrange
+        Pageable limit = PageRequest.of(0, 1);
+
+        // Act
+        List<Order> firstPage = orderRepository.findFirstKeysetPageByUserEmail("john@email.com", limit);
+        Order last = firstPage.get(0);
+        List<Order> secondPage = orderRepository.findKeysetPageByUserEmailAfter(
+                "john@email.com", last.getCreatedAt(), last.getId(), limit);
+        List<Order> thirdPage = orderRepository.findKeysetPageByUserEmailAfter(
+                "john@email.com", secondPage.get(0).getCreatedAt(), secondPage.get(0).getId(), limit);
+
+        // Assert
+        assertEquals("john@email.com", last.getUser().getEmail());
+        assertEquals(1, secondPage.size());
+        assertNotEquals(last.getId(), secondPage.get(0).getId());
+        assertTrue(thirdPage.isEmpty());
+        assertTrue(orderRepository.findFirstKeysetPageByUserEmail("JOHN@EMAIL.COM", limit).isEmpty());
+    }
+}
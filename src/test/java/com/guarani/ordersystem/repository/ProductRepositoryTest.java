@@ -1,5 +1,7 @@
 package com.guarani.ordersystem.repository;
 
+import com.guarani.ordersystem.dto.CategoryResponse;
+import com.guarani.ordersystem.dto.ProductResponse;
 import com.guarani.ordersystem.entity.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -360,4 +362,83 @@ class ProductRepositoryTest {
         assertEquals(1, results.size());
         assertEquals("Laptop Dell", results.get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findActiveResponses_ShouldProjectActiveProductsSortedByName() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, org.springframework.data.domain.Sort.by("name"));
+
+        // Act
+        Page<ProductResponse> page = productRepository.findActiveResponses(pageable);
+
+        // Assert
+        assertEquals(3, page.getTotalElements());
+        assertEquals("Laptop Dell", page.getContent().get(0).getName());
+        assertEquals(product1.getId(), page.getContent().get(0).getId());
+        assertEquals(15, page.getContent().get(0).getStockQuantity());
+        assertTrue(page.getContent().stream().allMatch(ProductResponse::getActive));
+    }
+
+    @Test
+    void findResponsesByCategory_ShouldBeCaseInsensitive() {
+        // Act
+        Page<ProductResponse> page = productRepository.findResponsesByCategory("eletronicos", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void searchResponses_ShouldCombineFilters_AndIgnoreNullOnes() {
+        // Act
+        Page<ProductResponse> byName = productRepository.searchResponses(
+                "%laptop%", null, null, null, PageRequest.of(0, 10));
+        Page<ProductResponse> byCategoryAndPrice = productRepository.searchResponses(
+                null, "eletronicos", BigDecimal.valueOf(1000), BigDecimal.valueOf(3000), PageRequest.of(0, 10));
+        Page<ProductResponse> all = productRepository.searchResponses(null, null, null, null, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, byName.getTotalElements());
+        assertEquals("Laptop Dell", byName.getContent().get(0).getName());
+        assertEquals(1, byCategoryAndPrice.getTotalElements());
+        assertEquals("Smartphone Samsung", byCategoryAndPrice.getContent().get(0).getName());
+        assertEquals(3, all.getTotalElements());
+    }
+
+    @Test
+    void summarizeActiveCategories_ShouldMergeCategoriesDifferingOnlyInCase() {
+        // Arrange
+        Product lowerCase = new Product();
+        lowerCase.setName("Fone Bluetooth");
+        lowerCase.setDescription("Fone sem fio");
+        lowerCase.setPrice(BigDecimal.valueOf(99.90));
+        lowerCase.setCategory("eletronicos");
+        lowerCase.setStockQuantity(20);
+        lowerCase.setActive(true);
+        entityManager.persistAndFlush(lowerCase);
+
+        // Act
+        List<CategoryResponse> categories = productRepository.summarizeActiveCategories();
+        Optional<CategoryResponse> eletronicos = productRepository.summarizeActiveCategory("Eletronicos");
+
+        // Assert
+        assertEquals(2, categories.size());
+        assertTrue(eletronicos.isPresent());
+        assertEquals(3L, eletronicos.get().getProductCount());
+        assertEquals(0, BigDecimal.valueOf(99.90).compareTo(eletronicos.get().getMinPrice()));
+        assertEquals(0, BigDecimal.valueOf(4299.99).compareTo(eletronicos.get().getMaxPrice()));
+    }
+
+    @Test
+    void lockStockLevels_ShouldReturnStockOfRequestedProductsInIdOrder() {
+        // Act
+        List<ProductRepository.StockLevel> levels =
+                productRepository.lockStockLevels(List.of(product3.getId(), product1.getId()));
+
+        // Assert
+        assertEquals(List.of(product1.getId(), product3.getId()),
+                levels.stream().map(ProductRepository.StockLevel::getId).toList());
+        assertEquals(List.of(15, 5),
+                levels.stream().map(ProductRepository.StockLevel::getStockQuantity).toList());
+    }
+}
@@ -27,11 +27,10 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-
-        // Set secret key and expiration using reflection
-        ReflectionTestUtils.setField(jwtService, "secretKey",
+        jwtService = new JwtService(
                 "mySecretKeyForJWTGenerationInGuaraniApp2024mySecretKeyForJWTGenerationInGuaraniApp2024");
+
+        // Set expiration using reflection
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L); // 24 hours
 
         userDetails = User.builder()
@@ -84,62 +83,50 @@ class JwtServiceTest {
         assertNotNull(token);
 
         // Extract claims and verify
-        Claims claims = jwtService.extractAllClaims(token);
+        Claims claims = jwtService.verify(token).getClaims();
         assertEquals("test@email.com", claims.getSubject());
         assertEquals(123L, claims.get("userId"));
         assertEquals("ADMIN", claims.get("role"));
     }
 
     @Test
-    void extractUsername_ShouldReturnUsername_FromValidToken() {
+    void verify_ShouldReturnSubject_FromValidToken() {
         // Arrange
         String token = jwtService.generateToken(userDetails);
 
         // Act
-        String username = jwtService.extractUsername(token);
+        String username = jwtService.verify(token).getSubject();
 
         // Assert
         assertEquals("test@email.com", username);
     }
 
     @Test
-    void extractClaim_ShouldReturnSpecificClaim() {
-        // Arrange
-        String token = jwtService.generateToken(userDetails);
-
-        // Act
-        String subject = jwtService.extractClaim(token, Claims::getSubject);
-
-        // Assert
-        assertEquals("test@email.com", subject);
-    }
-
-    @Test
-    void isTokenValid_ShouldReturnTrue_ForValidTokenAndUser() {
+    void verify_ShouldBeValidFor_TokenUser() {
         // Arrange
         String token = jwtService.generateToken(userDetails);
 
         // Act
-        boolean isValid = jwtService.isTokenValid(token, userDetails);
+        boolean isValid = jwtService.verify(token).isValidFor(userDetails.getUsername());
 
         // Assert
         assertTrue(isValid);
     }
 
     @Test
-    void isTokenValid_ShouldReturnFalse_ForDifferentUser() {
+    void verify_ShouldNotBeValidFor_DifferentUser() {
         // Arrange
         String token = jwtService.generateToken(userDetails);
 
         // Act
-        boolean isValid = jwtService.isTokenValid(token, differentUser);
+        boolean isValid = jwtService.verify(token).isValidFor(differentUser.getUsername());
 
         // Assert
         assertFalse(isValid);
     }
 
     @Test
-    void isTokenValid_ShouldReturnFalse_ForExpiredToken() {
+    void verify_ShouldThrowException_ForExpiredToken() {
         // Arrange - Set very short expiration
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1L); // 1ms
 
@@ -152,25 +139,22 @@ class JwtServiceTest {
             Thread.currentThread().interrupt();
         }
 
-        // Act
-        boolean isValid = jwtService.isTokenValid(token, userDetails);
-
-        // Assert
-        assertFalse(isValid);
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
 
         // Reset expiration for other tests
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
     }
 
     @Test
-    void extractAllClaims_ShouldReturnAllClaims() {
+    void verify_ShouldReturnAllClaims() {
         // Arrange
         Map<String, Object> extraClaims = new HashMap<>();
         extraClaims.put("customClaim", "customValue");
         String token = jwtService.generateToken(extraClaims, userDetails);
 
         // Act
-        Claims claims = jwtService.extractAllClaims(token);
+        Claims claims = jwtService.verify(token).getClaims();
 
         // Assert
         assertNotNull(claims);
@@ -181,27 +165,17 @@ class JwtServiceTest {
     }
 
     @Test
-    void extractExpiration_ShouldReturnExpirationDate() {
+    void verify_ShouldReturnExpirationDate() {
         // Arrange
         String token = jwtService.generateToken(userDetails);
 
         // Act
-        var expiration = jwtService.extractClaim(token, Claims::getExpiration);
+        VerifiedToken verified = jwtService.verify(token);
 
         // Assert
-        assertNotNull(expiration);
-        assertTrue(expiration.after(new java.util.Date()));
-    }
-
-    @Test
-    void isTokenExpired_ShouldReturnFalse_ForValidToken() {
-        // Arrange
-        String token = jwtService.generateToken(userDetails);
-
-        // This is a private method, but we can test it through public methods
-        // Act & Assert - Token should not be expired immediately after generation
-        boolean isValid = jwtService.isTokenValid(token, userDetails);
-        assertTrue(isValid); // Implies token is not expired
+        assertNotNull(verified.getExpiration());
+        assertTrue(verified.getExpiration().after(new java.util.Date()));
+        assertFalse(verified.isExpired());
     }
 
     @Test
@@ -215,7 +189,7 @@ class JwtServiceTest {
 
         // Act
         String token = jwtService.generateToken(specialUser);
-        String extractedUsername = jwtService.extractUsername(token);
+        String extractedUsername = jwtService.verify(token).getSubject();
 
         // Assert
         assertNotNull(token);
@@ -233,7 +207,7 @@ class JwtServiceTest {
 
         // Act
         String token = jwtService.generateToken(customUserDetails);
-        String extractedUsername = jwtService.extractUsername(token);
+        String extractedUsername = jwtService.verify(token).getSubject();
 
         // Assert
         assertNotNull(token);
@@ -241,41 +215,28 @@ class JwtServiceTest {
     }
 
     @Test
-    void extractUsername_ShouldThrowException_ForInvalidToken() {
+    void verify_ShouldThrowException_ForInvalidToken() {
         // Arrange
         String invalidToken = "invalid.token.here";
 
         // Act & Assert
-        assertThrows(Exception.class, () -> jwtService.extractUsername(invalidToken));
+        assertThrows(Exception.class, () -> jwtService.verify(invalidToken));
     }
 
     @Test
-    void extractUsername_ShouldThrowException_ForMalformedToken() {
+    void verify_ShouldThrowException_ForMalformedToken() {
         // Arrange
         String malformedToken = "header.payload.signature";
 
         // Act & Assert
-        assertThrows(Exception.class, () -> jwtService.extractUsername(malformedToken));
-    }
-
-    @Test
-    void isTokenValid_ShouldReturnFalse_ForTamperedToken() {
-        // Arrange
-        String validToken = jwtService.generateToken(userDetails);
-        String tamperedToken = validToken + "tampered";
-
-        // Act
-        boolean isValid = jwtService.isTokenValid(tamperedToken, userDetails);
-
-        // Assert
-        assertFalse(isValid);
+        assertThrows(Exception.class, () -> jwtService.verify(malformedToken));
     }
 
     @Test
     void generateToken_ShouldIncludeIssuedAtAndExpiration() {
         // Act
         String token = jwtService.generateToken(userDetails);
-        Claims claims = jwtService.extractAllClaims(token);
+        Claims claims = jwtService.verify(token).getClaims();
 
         // Assert
         assertNotNull(claims.getIssuedAt());
@@ -290,7 +251,7 @@ class JwtServiceTest {
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", shortExpiration);
 
         String token = jwtService.generateToken(userDetails);
-        Claims claims = jwtService.extractAllClaims(token);
+        Claims claims = jwtService.verify(token).getClaims();
 
         // Calculate expected expiration (issuedAt + expiration)
         long expectedExpiration = claims.getIssuedAt().getTime() + shortExpiration;
@@ -301,4 +262,36 @@ class JwtServiceTest {
         // Reset expiration
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void verify_ShouldExposeSubjectAndExpiration_FromSingleParse() {
+        // Arrange
+        UserDetails adminDetails = User.builder()
+                .username("admin@email.com")
+                .password("password")
+                .roles("ADMIN", "OPERATOR")
+                .build();
+        String token = jwtService.generateToken(adminDetails);
+
+        // Act
+        VerifiedToken verified = jwtService.verify(token);
+
+        // Assert
+        assertEquals("admin@email.com", verified.getSubject());
+        assertNotNull(verified.getExpiration());
+        assertFalse(verified.isExpired());
+        // Os perfis vêm do UserDetails carregado pelo JwtAuthenticationFilter, não do token
+        assertNull(verified.getClaims().get("roles"));
+        assertTrue(verified.isValidFor("admin@email.com"));
+        assertFalse(verified.isValidFor("other@email.com"));
+    }
+
+    @Test
+    void verify_ShouldThrowException_ForTamperedToken() {
+        // Arrange
+        String tamperedToken = jwtService.generateToken(userDetails) + "tampered";
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtService.verify(tamperedToken));
+    }
+}
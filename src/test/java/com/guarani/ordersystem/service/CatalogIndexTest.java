@@ -0,0 +1,203 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.CatalogSearchResponse;
+import com.guarani.ordersystem.dto.CatalogSearchResponse.CategoryFacet;
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent.Stock;
+import com.guarani.ordersystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private CatalogIndex catalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findActiveResponsesAfter(eq(0L), any())).thenReturn(List.of(
+                product(1L, "Laptop Dell", "INFORMATICA", "2999.99"),
+                product(2L, "Mouse Logitech", "PERIFERICOS", "89.90"),
+                product(3L, "Teclado Mecânico", "PERIFERICOS", "349.00"),
+                product(4L, "Smartphone Samsung", "ELETRONICOS", "1999.99"),
+                product(5L, "Fone Bluetooth", "ELETRONICOS", "49.99")));
+        catalogIndex.rebuild();
+    }
+
+    @Test
+    void search_ShouldFilterByCategoryAndPrice_AndSortByPrice() {
+        // Act
+        CatalogSearchResponse result = catalogIndex.search("perifericos", null, BigDecimal.valueOf(500),
+                CatalogIndex.Sort.PRICE_DESC, 0, 10);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(3L, 2L), result.getContent().stream().map(ProductResponse::getId).toList());
+    }
+
+    @Test
+    void search_ShouldComputeFacets_IgnoringTheirOwnFilter() {
+        // Act
+        CatalogSearchResponse result = catalogIndex.search("ELETRONICOS", BigDecimal.valueOf(50), null,
+                CatalogIndex.Sort.DEFAULT, 0, 10);
+
+        // Assert: apenas o smartphone atende categoria e preço mínimo
+        assertEquals(1, result.getTotalElements());
+        assertEquals(4L, result.getContent().get(0).getId());
+
+        // Facetas de categoria aplicam só o filtro de preço
+        assertEquals(List.of(
+                        new CategoryFacet("PERIFERICOS", 2),
+                        new CategoryFacet("ELETRONICOS", 1),
+                        new CategoryFacet("INFORMATICA", 1)),
+                result.getCategoryFacets());
+
+        // Facetas de preço aplicam só o filtro de categoria: 49,99 na primeira faixa e 1999,99 em 1000-5000
+        assertEquals(1, result.getPriceRangeFacets().get(0).getCount());
+        assertEquals(1, result.getPriceRangeFacets().get(5).getCount());
+        assertEquals(2, result.getPriceRangeFacets().stream().mapToLong(f -> f.getCount()).sum());
+    }
+
+    @Test
+    void search_ShouldPaginateInPriceOrder() {
+        // Act
+        CatalogSearchResponse secondPage = catalogIndex.search(null, null, null, CatalogIndex.Sort.PRICE_ASC, 1, 2);
+
+        // Assert
+        assertEquals(5, secondPage.getTotalElements());
+        assertEquals(List.of(3L, 4L), secondPage.getContent().stream().map(ProductResponse::getId).toList());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyPage_WhenOffsetExceedsIntRange() {
+        // Act: page * size passa de Integer.MAX_VALUE
+        CatalogSearchResponse result = catalogIndex.search(null, null, null,
+                CatalogIndex.Sort.DEFAULT, Integer.MAX_VALUE, 2);
+
+        // Assert
+        assertEquals(5, result.getTotalElements());
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void onProductChanged_ShouldReindexUpdatedAndRemoveDeactivatedProducts() {
+        // Arrange
+        ProductResponse repriced = product(2L, "Mouse Logitech", "INFORMATICA", "5999.00");
+        ProductResponse deactivated = product(5L, "Fone Bluetooth", "ELETRONICOS", "49.99");
+        deactivated.setActive(false);
+
+        // Act
+        catalogIndex.onProductChanged(new ProductChangedEvent(repriced));
+        catalogIndex.onProductChanged(new ProductChangedEvent(deactivated));
+        catalogIndex.onProductChanged(new ProductChangedEvent(product(6L, "Monitor LG", "INFORMATICA", "899.00")));
+
+        // Assert
+        CatalogSearchResponse informatica = catalogIndex.search("informatica", null, null,
+                CatalogIndex.Sort.PRICE_ASC, 0, 10);
+        assertEquals(List.of(6L, 1L, 2L), informatica.getContent().stream().map(ProductResponse::getId).toList());
+        assertEquals(5, catalogIndex.size());
+        assertEquals(1, catalogIndex.search("eletronicos", null, null,
+                CatalogIndex.Sort.DEFAULT, 0, 10).getTotalElements());
+    }
+
+    @Test
+    void onStockChanged_ShouldUpdateIndexedStockWithoutMutatingPreviousSnapshot() {
+        // Arrange
+        ProductResponse before = catalogIndex.search("informatica", null, null,
+                CatalogIndex.Sort.DEFAULT, 0, 10).getContent().get(0);
+
+        // Act
+        catalogIndex.onStockChanged(new ProductStockChangedEvent(Map.of(1L, new Stock(3, 2L))));
+
+        // Assert
+        ProductResponse after = catalogIndex.search("informatica", null, null,
+                CatalogIndex.Sort.DEFAULT, 0, 10).getContent().get(0);
+        assertEquals(10, before.getStockQuantity());
+        assertEquals(3, after.getStockQuantity());
+    }
+
+    @Test
+    void onStockChanged_ShouldIgnoreEventOlderThanIndexedVersion() {
+        // Act: a movimentação da versão 3 é aplicada antes da versão 2, que chega atrasada
+        catalogIndex.onStockChanged(new ProductStockChangedEvent(Map.of(1L, new Stock(3, 3L))));
+        catalogIndex.onStockChanged(new ProductStockChangedEvent(Map.of(1L, new Stock(7, 2L))));
+        catalogIndex.onProductChanged(new ProductChangedEvent(
+                product(1L, "Laptop Dell", "INFORMATICA", "2999.99").toBuilder().version(2L).build()));
+
+        // Assert
+        ProductResponse laptop = catalogIndex.search("informatica", null, null,
+                CatalogIndex.Sort.DEFAULT, 0, 10).getContent().get(0);
+        assertEquals(3, laptop.getStockQuantity());
+        assertEquals(3L, laptop.getVersion());
+    }
+
+    @Test
+    void rebuild_ShouldPickUpChangesMadeOutsideThisInstance() {
+        // Arrange: outra instância desativou o produto 5 e cadastrou o 6
+        when(productRepository.findActiveResponsesAfter(eq(0L), any())).thenReturn(List.of(
+                product(1L, "Laptop Dell", "INFORMATICA", "2999.99"),
+                product(2L, "Mouse Logitech", "PERIFERICOS", "89.90"),
+                product(3L, "Teclado Mecânico", "PERIFERICOS", "349.00"),
+                product(4L, "Smartphone Samsung", "ELETRONICOS", "1999.99"),
+                product(6L, "Monitor LG", "INFORMATICA", "899.00")));
+
+        // Act
+        catalogIndex.rebuild();
+
+        // Assert
+        assertEquals(5, catalogIndex.size());
+        assertEquals(List.of(6L, 1L), catalogIndex.search("informatica", null, null,
+                CatalogIndex.Sort.PRICE_ASC, 0, 10).getContent().stream().map(ProductResponse::getId).toList());
+        assertEquals(1, catalogIndex.search("eletronicos", null, null,
+                CatalogIndex.Sort.DEFAULT, 0, 10).getTotalElements());
+    }
+
+    @Test
+    void rebuild_ShouldReplayEventsReceivedWhileLoading() {
+        // Arrange: a alteração de estoque chega depois que o banco já foi lido
+        when(productRepository.findActiveResponsesAfter(eq(0L), any())).thenAnswer(invocation -> {
+            List<ProductResponse> snapshot = List.of(product(1L, "Laptop Dell", "INFORMATICA", "2999.99"));
+            catalogIndex.onStockChanged(new ProductStockChangedEvent(Map.of(1L, new Stock(3, 2L))));
+            return snapshot;
+        });
+
+        // Act
+        catalogIndex.rebuild();
+
+        // Assert
+        ProductResponse laptop = catalogIndex.search("informatica", null, null,
+                CatalogIndex.Sort.DEFAULT, 0, 10).getContent().get(0);
+        assertEquals(3, laptop.getStockQuantity());
+        assertEquals(1, catalogIndex.size());
+    }
+
+    private static ProductResponse product(Long id, String name, String category, String price) {
+        return ProductResponse.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .price(new BigDecimal(price))
+                .stockQuantity(10)
+                .active(true)
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.CategoryResponse;
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.exception.ResourceNotFoundException;
+import com.guarani.ordersystem.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class CategoryServiceTest {
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager("categories");
+        }
+
+        @Bean
+        ProductRepository productRepository() {
+            return mock(ProductRepository.class);
+        }
+
+        @Bean
+        CategoryService categoryService(ProductRepository productRepository) {
+            return new CategoryService(productRepository);
+        }
+    }
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache("categories").clear();
+        reset(productRepository);
+    }
+
+    @Test
+    void findAll_ShouldServeFromCache_UntilAProductChanges() {
+        // Arrange
+        CategoryResponse informatica = new CategoryResponse("INFORMATICA", 2L,
+                BigDecimal.valueOf(899), BigDecimal.valueOf(2999.99));
+        when(productRepository.summarizeActiveCategories()).thenReturn(List.of(informatica));
+
+        // Act
+        List<CategoryResponse> first = categoryService.findAll();
+        List<CategoryResponse> second = categoryService.findAll();
+        categoryService.onProductChanged(new ProductChangedEvent(ProductResponse.builder().id(1L).build()));
+        categoryService.findAll();
+
+        // Assert
+        assertEquals(List.of(informatica), first);
+        assertSame(first, second);
+        verify(productRepository, times(2)).summarizeActiveCategories();
+    }
+
+    @Test
+    void findByCategory_ShouldCacheByLowerCaseName() {
+        // Arrange
+        CategoryResponse eletronicos = new CategoryResponse("ELETRONICOS", 3L,
+                BigDecimal.valueOf(49.99), BigDecimal.valueOf(4299.99));
+        when(productRepository.summarizeActiveCategory("eletronicos")).thenReturn(Optional.of(eletronicos));
+
+        // Act
+        categoryService.findByCategory("eletronicos");
+        CategoryResponse result = categoryService.findByCategory("ELETRONICOS");
+
+        // Assert
+        assertEquals(3L, result.getProductCount());
+        verify(productRepository, times(1)).summarizeActiveCategory(anyString());
+    }
+
+    @Test
+    void findByCategory_ShouldThrowException_WhenCategoryHasNoActiveProducts() {
+        // Arrange
+        when(productRepository.summarizeActiveCategory("inexistente")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.findByCategory("inexistente"));
+    }
+}
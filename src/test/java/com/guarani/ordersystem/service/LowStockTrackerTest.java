@@ -0,0 +1,163 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.ProductResponse;
+import com.guarani.ordersystem.entity.StockAlertThreshold;
+import com.guarani.ordersystem.event.LowStockAlertEvent;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent;
+import com.guarani.ordersystem.event.ProductStockChangedEvent.Stock;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.StockAlertThresholdRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockTrackerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockAlertThresholdRepository thresholdRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LowStockTracker lowStockTracker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lowStockTracker, "defaultThreshold", 10);
+
+        // Notebook tem limite próprio de 3; periféricos têm limite de categoria de 20
+        StockAlertThreshold notebookThreshold = new StockAlertThreshold();
+        notebookThreshold.setProductId(1L);
+        notebookThreshold.setThreshold(3);
+        StockAlertThreshold peripheralsThreshold = new StockAlertThreshold();
+        peripheralsThreshold.setCategory("PERIFERICOS");
+        peripheralsThreshold.setThreshold(20);
+        when(thresholdRepository.findAll()).thenReturn(List.of(notebookThreshold, peripheralsThreshold));
+
+        when(productRepository.findActiveResponsesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                product(1L, "INFORMATICA", 5),
+                product(2L, "PERIFERICOS", 15),
+                product(3L, "INFORMATICA", 8)));
+
+        lowStockTracker.rebuild();
+    }
+
+    @Test
+    void rebuild_ShouldApplyProductThenCategoryThenDefaultThreshold() {
+        assertEquals(List.of(2L, 3L), ids(lowStockTracker.findLowStockProducts()));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void onStockChanged_ShouldAlertOnlyWhenThresholdIsCrossed() {
+        // Act: o notebook cai abaixo do próprio limite; o produto 3 continua baixo; o mouse se recupera
+        lowStockTracker.onStockChanged(new ProductStockChangedEvent(Map.of(
+                1L, new Stock(2, 2L), 3L, new Stock(7, 2L), 2L, new Stock(40, 2L))));
+
+        // Assert
+        assertEquals(List.of(1L, 3L), ids(lowStockTracker.findLowStockProducts()));
+        assertEquals(7, lowStockTracker.findLowStockProducts().get(1).getStockQuantity());
+
+        ArgumentCaptor<LowStockAlertEvent> alerts = ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(alerts.capture());
+        Map<Long, Boolean> crossings = alerts.getAllValues().stream().collect(Collectors.toMap(
+                alert -> alert.getProduct().getId(), LowStockAlertEvent::isBelowThreshold));
+        assertEquals(Map.of(1L, true, 2L, false), crossings);
+    }
+
+    @Test
+    void onStockChanged_ShouldIgnoreEventOlderThanTrackedVersion() {
+        // Act: a movimentação da versão 3 é aplicada antes da versão 2, que chega atrasada
+        lowStockTracker.onStockChanged(new ProductStockChangedEvent(Map.of(2L, new Stock(40, 3L))));
+        lowStockTracker.onStockChanged(new ProductStockChangedEvent(Map.of(2L, new Stock(12, 2L))));
+
+        // Assert: o mouse continua fora da lista, com o estoque da versão mais nova
+        assertEquals(List.of(3L), ids(lowStockTracker.findLowStockProducts()));
+        verify(eventPublisher, times(1)).publishEvent(any(LowStockAlertEvent.class));
+    }
+
+    @Test
+    void onProductChanged_ShouldStopTrackingDeactivatedProducts() {
+        // Act
+        lowStockTracker.onProductChanged(new ProductChangedEvent(
+                product(3L, "INFORMATICA", 8).toBuilder().active(false).build()));
+        lowStockTracker.onStockChanged(new ProductStockChangedEvent(Map.of(3L, new Stock(0, 2L))));
+
+        // Assert
+        assertEquals(List.of(2L), ids(lowStockTracker.findLowStockProducts()));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesReceivedWhileLoading() {
+        // Arrange: o mouse é reabastecido depois que a leitura do banco já devolveu o estoque antigo
+        when(productRepository.findActiveResponsesAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            List<ProductResponse> stale = List.of(
+                    product(1L, "INFORMATICA", 5),
+                    product(2L, "PERIFERICOS", 15),
+                    product(3L, "INFORMATICA", 8));
+            lowStockTracker.onStockChanged(new ProductStockChangedEvent(Map.of(2L, new Stock(40, 2L))));
+            return stale;
+        });
+
+        // Act
+        lowStockTracker.rebuild();
+
+        // Assert: a movimentação é reaplicada sobre a recarga, sem repetir o alerta
+        assertEquals(List.of(3L), ids(lowStockTracker.findLowStockProducts()));
+        verify(eventPublisher, times(1)).publishEvent(any(LowStockAlertEvent.class));
+    }
+
+    @Test
+    void setCategoryThreshold_ShouldReevaluateProductsOfTheCategory() {
+        // Arrange
+        when(thresholdRepository.findByCategoryIgnoreCase("informatica")).thenReturn(Optional.empty());
+
+        // Act: limite de 5 para informática; o notebook mantém o limite próprio
+        lowStockTracker.setCategoryThreshold("informatica", 5);
+
+        // Assert
+        assertEquals(List.of(2L), ids(lowStockTracker.findLowStockProducts()));
+        verify(thresholdRepository).save(argThat(threshold ->
+                "informatica".equals(threshold.getCategory()) && threshold.getThreshold() == 5));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof LowStockAlertEvent alert
+                && alert.getProduct().getId() == 3L && !alert.isBelowThreshold()));
+    }
+
+    private static ProductResponse product(Long id, String category, int stock) {
+        return ProductResponse.builder()
+                .id(id)
+                .name("Produto " + id)
+                .category(category)
+                .stockQuantity(stock)
+                .active(true)
+                .version(1L)
+                .build();
+    }
+
+    private static List<Long> ids(List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getId).toList();
+    }
+}
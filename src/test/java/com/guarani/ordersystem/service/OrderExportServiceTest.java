@@ -0,0 +1,180 @@
+package com.guarani.ordersystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.OrderItem;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({OrderExportService.class, OrderService.class, OrderExportServiceTest.Config.class})
+@TestPropertySource(properties = {
+        "spring.test.database.replace=NONE",
+        "spring.datasource.url=jdbc:h2:mem:testdb"
+})
+class OrderExportServiceTest {
+
+    // Mais pedidos que o tamanho do bloco, para exercitar a limpeza do contexto entre blocos
+    private static final int ORDERS = 1200;
+
+    static class Config {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Cliente, Exportação");
+        user.setEmail("cliente@email.com");
+        user.setPassword("password123");
+        user.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(user);
+
+        Product product = new Product();
+        product.setName("Produto");
+        product.setPrice(BigDecimal.valueOf(10));
+        product.setCategory("INFORMATICA");
+        product.setStockQuantity(100);
+        product.setActive(true);
+        product.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(product);
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setStatus(i % 3 == 0 ? OrderStatus.CANCELLED : OrderStatus.PENDING);
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(2);
+            item.setUnitPrice(product.getPrice());
+            order.addItem(item);
+            entityManager.persist(order);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonLinePerOrder_WhenNdjson() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = orderExportService.export(null, OrderExportService.Format.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ORDERS, exported);
+        assertEquals(ORDERS + 1, lines.length);
+
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("cliente@email.com", first.get("userEmail").asText());
+        assertEquals(1, first.get("items").size());
+        assertEquals("Produto", first.get("items").get(0).get("productName").asText());
+
+        JsonNode trailer = new ObjectMapper().readTree(lines[ORDERS]);
+        assertEquals("COMPLETE", trailer.get("exportStatus").asText());
+        assertEquals(ORDERS, trailer.get("exported").asLong());
+    }
+
+    @Test
+    void export_ShouldWriteHeaderAndEscapedRows_WhenCsvFilteredByStatus() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = orderExportService.export(OrderStatus.CANCELLED, OrderExportService.Format.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ORDERS / 3, exported);
+        assertEquals(ORDERS / 3 + 2, lines.length);
+        assertTrue(lines[0].startsWith("id,user_email,user_name,status"));
+        assertTrue(lines[1].contains(",cliente@email.com,\"Cliente, Exportação\",CANCELLED,"));
+        assertTrue(lines[1].contains(",20.00,1,2,"));
+        assertEquals("#export_status=COMPLETE,exported=" + ORDERS / 3, lines[lines.length - 1]);
+    }
+
+    @Test
+    void export_ShouldEndWithAbortedMarkerAndCountAbort_WhenCursorFailsAfterFirstChunk() throws Exception {
+        // Arrange
+        // Cursor que entrega o primeiro bloco inteiro e parte do segundo antes de falhar
+        OrderRepository failingRepository = mock(OrderRepository.class);
+        when(failingRepository.streamForExport(null)).thenReturn(Stream.concat(
+                orderRepository.streamForExport(null).limit(600),
+                Stream.generate(() -> {
+                    throw new IllegalStateException("Conexão perdida");
+                })));
+        when(failingRepository.fetchItemsByIdIn(anyCollection()))
+                .thenAnswer(invocation -> orderRepository.fetchItemsByIdIn(invocation.getArgument(0)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderExportService service = new OrderExportService(failingRepository, orderService,
+                entityManager.getEntityManager(), objectMapper, meterRegistry);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> service.export(null, OrderExportService.Format.NDJSON, output));
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(501, lines.length);
+        assertEquals("ABORTED", new ObjectMapper().readTree(lines[500]).get("exportStatus").asText());
+        assertEquals(1.0, meterRegistry.counter("orders.export.aborted", "format", "ndjson").count());
+    }
+
+    @Test
+    void format_ShouldRejectUnknownValues() {
+        assertEquals(OrderExportService.Format.CSV, OrderExportService.Format.from("csv"));
+        assertThrows(BusinessException.class, () -> OrderExportService.Format.from("xml"));
+    }
+}
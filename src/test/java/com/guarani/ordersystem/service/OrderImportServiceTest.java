@@ -0,0 +1,166 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.BulkOrderRequest;
+import com.guarani.ordersystem.dto.BulkOrderResponse;
+import com.guarani.ordersystem.dto.OrderRequest;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.OrderRepository;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderImportServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OrderImportService orderImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderImportService, "chunkSize", 10);
+        ReflectionTestUtils.setField(orderImportService, "maxOrders", 100);
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("cliente@email.com");
+        user.setName("Cliente");
+
+        Product mouse = new Product();
+        mouse.setId(1L);
+        mouse.setName("Mouse");
+        mouse.setPrice(BigDecimal.valueOf(50));
+        mouse.setStockQuantity(5);
+        mouse.setActive(true);
+
+        lenient().when(userRepository.findByEmailIn(anyCollection())).thenReturn(List.of(user));
+        lenient().when(productRepository.findAllById(anyIterable())).thenReturn(List.of(mouse));
+
+        // IDs atribuídos na ordem de gravação, como a sequence do banco
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(orderRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<Order> saved = new ArrayList<>();
+            invocation.<Iterable<Order>>getArgument(0).forEach(saved::add);
+            saved.forEach(order -> order.setId(ids.incrementAndGet()));
+            return saved;
+        });
+    }
+
+    @Test
+    void importOrders_ShouldReportPerOrderFailures_AndDecreaseStockOncePerChunk() {
+        // Arrange: o terceiro pedido excede o estoque já reservado pelos dois primeiros
+        BulkOrderRequest request = request(
+                entry("MKT-1", "cliente@email.com", 2),
+                entry("MKT-2", "desconhecido@email.com", 1),
+                entry("MKT-3", "cliente@email.com", 2),
+                entry("MKT-4", "cliente@email.com", 2));
+
+        // Act
+        BulkOrderResponse result = orderImportService.importOrders(request);
+
+        // Assert
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(List.of(true, false, true, false),
+                result.getResults().stream().map(BulkOrderResponse.OrderResult::isSuccess).toList());
+        assertEquals("MKT-2", result.getResults().get(1).getExternalId());
+        assertEquals(BigDecimal.valueOf(100), result.getResults().get(0).getTotalAmount());
+
+        verify(orderRepository).saveAll(argThat((Iterable<Order> orders) -> orders.spliterator().getExactSizeIfKnown() == 2));
+        verify(productService).updateStockBatch(eq(List.of(sale(101L, 2), sale(102L, 2))), eq(StockMovementType.SAIDA));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void importOrders_ShouldRetryOrdersIndividually_WhenChunkStockUpdateFails() {
+        // Arrange: a baixa conjunta falha; individualmente, só o segundo pedido perde a corrida
+        BulkOrderRequest request = request(
+                entry("MKT-1", "cliente@email.com", 1),
+                entry("MKT-2", "cliente@email.com", 3));
+
+        // lenient: a baixa do primeiro pedido, repetido sozinho, não corresponde a nenhum dos stubs
+        lenient().doThrow(new BusinessException("Estoque insuficiente para o produto: Mouse"))
+                .when(productService).updateStockBatch(eq(List.of(sale(101L, 1), sale(102L, 3))), any());
+        lenient().doThrow(new BusinessException("Estoque insuficiente para o produto: Mouse"))
+                .when(productService).updateStockBatch(eq(List.of(sale(104L, 3))), any());
+
+        // Act
+        BulkOrderResponse result = orderImportService.importOrders(request);
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Estoque insuficiente para o produto: Mouse", result.getResults().get(1).getError());
+        verify(productService).updateStockBatch(eq(List.of(sale(103L, 1))), eq(StockMovementType.SAIDA));
+    }
+
+    @Test
+    void importOrders_ShouldRejectRequest_WhenAboveLimit() {
+        ReflectionTestUtils.setField(orderImportService, "maxOrders", 1);
+        BulkOrderRequest request = request(
+                entry("MKT-1", "cliente@email.com", 1),
+                entry("MKT-2", "cliente@email.com", 1));
+
+        assertThrows(BusinessException.class, () -> orderImportService.importOrders(request));
+        verifyNoInteractions(orderRepository, productService);
+    }
+
+    private static ProductService.StockMovementGroup sale(Long orderId, int quantity) {
+        return new ProductService.StockMovementGroup("Venda - Pedido " + orderId, Map.of(1L, quantity));
+    }
+
+    private static BulkOrderRequest request(BulkOrderRequest.OrderEntry... entries) {
+        return BulkOrderRequest.builder().orders(List.of(entries)).build();
+    }
+
+    private static BulkOrderRequest.OrderEntry entry(String externalId, String userEmail, int quantity) {
+        return BulkOrderRequest.OrderEntry.builder()
+                .externalId(externalId)
+                .userEmail(userEmail)
+                .items(List.of(OrderRequest.OrderItemRequest.builder().productId(1L).quantity(quantity).build()))
+                .build();
+    }
+}
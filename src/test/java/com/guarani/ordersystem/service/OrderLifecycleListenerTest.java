@@ -0,0 +1,65 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.entity.enums.PaymentMethod;
+import com.guarani.ordersystem.event.OrderCancelledEvent;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.PaymentApprovedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLifecycleListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderLifecycleListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new OrderLifecycleListener(meterRegistry);
+    }
+
+    @Test
+    void onOrderCreated_ShouldRecordMetrics() {
+        // Act
+        listener.onOrderCreated(new OrderCreatedEvent(order(OrderStatus.PENDING)));
+
+        // Assert
+        assertEquals(1, meterRegistry.counter("orders.created").count());
+        assertEquals(150.0, meterRegistry.summary("orders.amount").totalAmount());
+    }
+
+    @Test
+    void onPaymentApproved_ShouldCountByPaymentMethod() {
+        listener.onPaymentApproved(new PaymentApprovedEvent(order(OrderStatus.CONFIRMED)));
+
+        assertEquals(1, meterRegistry.counter("orders.payments.approved", "method", "PIX").count());
+    }
+
+    @Test
+    void onOrderCancelled_ShouldCountCancellation() {
+        listener.onOrderCancelled(new OrderCancelledEvent(order(OrderStatus.CANCELLED)));
+
+        assertEquals(1, meterRegistry.counter("orders.cancelled").count());
+    }
+
+    private static OrderResponse order(OrderStatus status) {
+        return OrderResponse.builder()
+                .id(1L)
+                .userEmail("cliente@email.com")
+                .status(status)
+                .paymentMethod(PaymentMethod.PIX)
+                .totalAmount(BigDecimal.valueOf(150))
+                .items(List.of(
+                        OrderResponse.OrderItemResponse.builder().productId(1L).quantity(1).build(),
+                        OrderResponse.OrderItemResponse.builder().productId(2L).quantity(2).build()))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.entity.OrderOutboxEvent;
+import com.guarani.ordersystem.entity.enums.OutboxEventType;
+import com.guarani.ordersystem.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 10);
+    }
+
+    @Test
+    void relay_ShouldPublishInOrder_AndKeepClaimingWhileBatchesAreFull() {
+        // Arrange
+        OrderOutboxEvent first = event(1L);
+        OrderOutboxEvent second = event(2L);
+        OrderOutboxEvent third = event(3L);
+        when(outboxRepository.claimPending(eq(10), any(Pageable.class)))
+                .thenReturn(List.of(first, second), List.of(third));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        var inOrder = inOrder(publisher);
+        inOrder.verify(publisher).publish(first);
+        inOrder.verify(publisher).publish(second);
+        inOrder.verify(publisher).publish(third);
+        assertNotNull(first.getPublishedAt());
+        assertNotNull(third.getPublishedAt());
+        verify(outboxRepository, times(2)).claimPending(eq(10), any(Pageable.class));
+    }
+
+    @Test
+    void relay_ShouldRecordFailure_AndKeepPublishingOtherOrders() {
+        // Arrange: o lote tem no máximo um evento por pedido
+        OrderOutboxEvent failing = event(1L);
+        OrderOutboxEvent otherOrder = event(2L);
+        otherOrder.setOrderId(200L);
+        when(outboxRepository.claimPending(eq(10), any(Pageable.class))).thenReturn(List.of(failing, otherOrder));
+        doThrow(new IllegalStateException("broker indisponível")).when(publisher).publish(failing);
+
+        // Act
+        relay.relay();
+
+        // Assert: o lote não veio todo publicado, então o ciclo termina e o evento falho é retentado no próximo
+        assertNull(failing.getPublishedAt());
+        assertEquals(1, failing.getAttempts());
+        assertEquals("broker indisponível", failing.getLastError());
+        assertNotNull(otherOrder.getPublishedAt());
+        verify(outboxRepository, times(1)).claimPending(anyInt(), any(Pageable.class));
+    }
+
+    private static OrderOutboxEvent event(Long id) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setId(id);
+        event.setOrderId(100L);
+        event.setEventType(OutboxEventType.ORDER_STATUS_CHANGED);
+        event.setPayload("{}");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,248 @@
+package com.guarani.ordersystem.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.guarani.ordersystem.dto.OrderRequest;
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.exception.BusinessException;
+import com.guarani.ordersystem.repository.OrderRepository;
+import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Conteúdo do cache "orders" após criação e atualização de pedidos, permissão de leitura sobre
+// pedidos servidos pelo cache, e taxa de acerto em uma carga mista de criação e leitura comparada
+// com o antigo @CacheEvict(allEntries = true) em create
+@SpringJUnitConfig
+class OrderServiceCacheTest {
+
+    private static final String USER_EMAIL = "admin@guarani.com";
+    private static final int SEED_ORDERS = 50;
+    private static final int OPERATIONS = 2000;
+    private static final int CREATE_EVERY = 10;
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager("orders");
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10_000).recordStats());
+            cacheManager.setAllowNullValues(false);
+            return cacheManager;
+        }
+
+        @Bean
+        OrderRepository orderRepository() {
+            return mock(OrderRepository.class);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        ProductRepository productRepository() {
+            return mock(ProductRepository.class);
+        }
+
+        @Bean
+        ProductService productService() {
+            return mock(ProductService.class);
+        }
+
+        @Bean
+        OrderService orderService(OrderRepository orderRepository, UserRepository userRepository,
+                                  ProductRepository productRepository, ProductService productService,
+                                  ApplicationEventPublisher eventPublisher, CacheManager cacheManager) {
+            return new OrderService(orderRepository, userRepository, productRepository, productService,
+                    eventPublisher, cacheManager);
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Map<Long, Order> storedOrders = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(USER_EMAIL);
+        user.setName("Admin");
+
+        Product product = new Product();
+        product.setId(1L);
+        product.setName("Produto");
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(Integer.MAX_VALUE);
+        product.setActive(true);
+
+        when(userRepository.findByEmail(USER_EMAIL)).thenReturn(Optional.of(user));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(ids.incrementAndGet());
+            storedOrders.put(order.getId(), order);
+            return order;
+        });
+        when(orderRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedOrders.get(invocation.<Long>getArgument(0))));
+
+        authenticate(USER_EMAIL, "ROLE_ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cacheManager.getCache("orders").clear();
+        reset(orderRepository, userRepository, productRepository);
+    }
+
+    @Test
+    void create_ShouldPutNewOrderInCache() {
+        // Act
+        OrderResponse created = createOrder();
+
+        // Assert: a entrada gravada é a resposta do create, e a leitura seguinte não consulta o banco
+        assertEquals(created, ordersCache().get(created.getId(), OrderResponse.class));
+        assertEquals(created, orderService.findById(created.getId()));
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void updateStatus_ShouldEvictCachedOrder_AndReloadItOnNextRead() {
+        // Arrange
+        OrderResponse created = createOrder();
+
+        // Act: sem transação ativa a remoção roda na hora; com transação, após o commit
+        orderService.updateStatus(created.getId(), OrderStatus.CONFIRMED);
+
+        // Assert
+        assertNull(ordersCache().get(created.getId()));
+        assertEquals(OrderStatus.CONFIRMED, orderService.findById(created.getId()).getStatus());
+        verify(orderRepository, times(2)).findById(created.getId());
+    }
+
+    @Test
+    void checkOrderAccessPermission_ShouldRejectOtherClient_WhenOrderComesFromCache() {
+        // Arrange: pedido do admin já em cache, lido por outro cliente
+        OrderResponse created = createOrder();
+        authenticate("outro@email.com", "ROLE_CLIENT");
+
+        // Act
+        OrderResponse cached = orderService.findById(created.getId());
+
+        // Assert
+        verify(orderRepository, never()).findById(anyLong());
+        assertThrows(BusinessException.class, () -> orderService.checkOrderAccessPermission(cached));
+    }
+
+    @Test
+    void mixedWorkload_ShouldKeepHighHitRate_WhenCreateDoesNotEvictAllEntries() {
+        // Act: mesma carga com o antigo @CacheEvict(allEntries = true) em create e com o write-through atual
+        double legacyHitRate = runWorkload(true);
+        ordersCache().clear();
+        double hitRate = runWorkload(false);
+
+        // Assert
+        assertTrue(hitRate > 0.9, "hit rate: " + hitRate);
+        assertTrue(hitRate > legacyHitRate, "legacy: " + legacyHitRate + ", write-through: " + hitRate);
+    }
+
+    // Leituras de pedidos existentes intercaladas com criações; devolve a taxa de acerto das leituras
+    private double runWorkload(boolean evictAllOnCreate) {
+        CaffeineCache cache = ordersCache();
+        Random random = new Random(42);
+        long firstId = ids.get() + 1;
+
+        for (int i = 0; i < SEED_ORDERS; i++) {
+            createOrder(cache, evictAllOnCreate);
+        }
+
+        long hitsBefore = cache.getNativeCache().stats().hitCount();
+        long missesBefore = cache.getNativeCache().stats().missCount();
+
+        for (int op = 1; op <= OPERATIONS; op++) {
+            if (op % CREATE_EVERY == 0) {
+                createOrder(cache, evictAllOnCreate);
+            } else {
+                long id = firstId + random.nextInt((int) (ids.get() - firstId + 1));
+                assertEquals(id, orderService.findById(id).getId());
+            }
+        }
+
+        long hits = cache.getNativeCache().stats().hitCount() - hitsBefore;
+        long misses = cache.getNativeCache().stats().missCount() - missesBefore;
+        return (double) hits / (hits + misses);
+    }
+
+    private void createOrder(CaffeineCache cache, boolean evictAllOnCreate) {
+        createOrder();
+        if (evictAllOnCreate) {
+            // Reproduz o comportamento anterior de @CacheEvict(allEntries = true)
+            cache.clear();
+        }
+    }
+
+    private CaffeineCache ordersCache() {
+        return (CaffeineCache) cacheManager.getCache("orders");
+    }
+
+    private OrderResponse createOrder() {
+        OrderRequest request = OrderRequest.builder()
+                .items(List.of(OrderRequest.OrderItemRequest.builder().productId(1L).quantity(1).build()))
+                .build();
+        return orderService.create(request, USER_EMAIL);
+    }
+
+    private static void authenticate(String email, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
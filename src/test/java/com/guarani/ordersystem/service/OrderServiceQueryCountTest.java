@@ -0,0 +1,157 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.OrderItem;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Garante que as listagens paginadas de pedidos executam um número fixo de consultas,
+// independentemente da quantidade de pedidos, itens e produtos da página
+@DataJpaTest
+@Import(OrderService.class)
+@TestPropertySource(properties = {
+        "spring.test.database.replace=NONE",
+        "spring.datasource.url=jdbc:h2:mem:testdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderServiceQueryCountTest {
+
+    private static final int USERS = 10;
+    private static final int PRODUCTS = 30;
+    private static final int ORDERS = 120;
+    private static final int ITEMS_PER_ORDER = 4;
+    private static final int PAGE_SIZE = 100;
+
+    // Página de pedidos com usuário + contagem + itens com produtos
+    private static final long MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockBean
+    private ProductService productService;
+
+    private Statistics statistics;
+    private String firstUserEmail;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Cliente " + i);
+            user.setEmail("cliente" + i + "@email.com");
+            user.setPassword("password123");
+            user.setCreatedAt(LocalDateTime.now());
+            users.add(entityManager.persist(user));
+        }
+        firstUserEmail = users.get(0).getEmail();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Produto " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setCategory("INFORMATICA");
+            product.setStockQuantity(100);
+            product.setActive(true);
+            product.setCreatedAt(LocalDateTime.now());
+            products.add(entityManager.persist(product));
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUser(users.get(i % USERS));
+            order.setStatus(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.CONFIRMED);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                Product product = products.get((i + j) % PRODUCTS);
+                OrderItem item = new OrderItem();
+                item.setProduct(product);
+                item.setQuantity(1);
+                item.setUnitPrice(product.getPrice());
+                order.addItem(item);
+            }
+            entityManager.persist(order);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_ShouldLoadPageWithBoundedStatementCount() {
+        Page<OrderResponse> page = orderService.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertFullyMapped(page);
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByStatus_ShouldLoadPageWithBoundedStatementCount() {
+        Page<OrderResponse> page = orderService.findByStatus(OrderStatus.PENDING, PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(ORDERS / 2, page.getContent().size());
+        assertFullyMapped(page);
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByUserEmail_ShouldLoadPageWithBoundedStatementCount() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                firstUserEmail, null, List.of(new SimpleGrantedAuthority("ROLE_CLIENT"))));
+        try {
+            Page<OrderResponse> page = orderService.findByUserEmail(firstUserEmail, PageRequest.of(0, PAGE_SIZE));
+
+            assertEquals(ORDERS / USERS, page.getContent().size());
+            assertTrue(page.getContent().stream().allMatch(order -> order.getUserEmail().equals(firstUserEmail)));
+            assertFullyMapped(page);
+            assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                    "statements: " + statistics.getPrepareStatementCount());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void assertFullyMapped(Page<OrderResponse> page) {
+        page.getContent().forEach(order -> {
+            assertNotNull(order.getUserName());
+            assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+            order.getItems().forEach(item -> assertNotNull(item.getProductName()));
+        });
+    }
+}
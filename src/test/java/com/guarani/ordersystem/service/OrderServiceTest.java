@@ -5,6 +5,9 @@ import com.guarani.ordersystem.dto.OrderResponse;
 import com.guarani.ordersystem.entity.*;
 import com.guarani.ordersystem.entity.enums.OrderStatus;
 import com.guarani.ordersystem.entity.enums.PaymentStatus;
+import com.guarani.ordersystem.event.OrderCancelledEvent;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.OrderStatusChangedEvent;
 import com.guarani.ordersystem.exception.BusinessException;
 import com.guarani.ordersystem.exception.ResourceNotFoundException;
 import com.guarani.ordersystem.repository.OrderRepository;
@@ -15,9 +18,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +45,12 @@ class OrderServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -70,7 +82,7 @@ class OrderServiceTest {
                 .build();
 
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -82,7 +94,10 @@ class OrderServiceTest {
         assertEquals(OrderStatus.PENDING, result.getStatus());
         assertEquals(PaymentStatus.PENDING, result.getPaymentStatus());
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productService, times(1)).updateStock(eq(1L), eq(2), any(), anyString());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productService, times(1)).updateStockBatch(eq(Map.of(1L, 2)), any(), anyString());
+        verify(eventPublisher, times(1)).publishEvent(any(OrderCreatedEvent.class));
     }
 
     @Test
@@ -101,7 +116,7 @@ class OrderServiceTest {
                 .build();
 
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(any())).thenReturn(List.of());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> orderService.create(request, userEmail));
@@ -132,7 +147,7 @@ class OrderServiceTest {
                 .build();
 
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
 
         // Act & Assert
         assertThrows(BusinessException.class, () -> orderService.create(request, userEmail));
@@ -187,6 +202,8 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof OrderStatusChangedEvent changed && changed.getPreviousStatus() == OrderStatus.PENDING));
     }
 
     @Test
@@ -195,6 +212,7 @@ class OrderServiceTest {
         Long orderId = 1L;
         Order order = Order.builder()
                 .id(orderId)
+                .user(User.builder().email("test@email.com").name("Test User").build())
                 .status(OrderStatus.PENDING)
                 .totalAmount(BigDecimal.ZERO)
                 .build();
@@ -208,5 +226,7 @@ class OrderServiceTest {
         // Assert
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
         verify(orderRepository, times(1)).save(order);
+        verify(eventPublisher, times(1)).publishEvent(any(OrderStatusChangedEvent.class));
+        verify(eventPublisher, times(1)).publishEvent(any(OrderCancelledEvent.class));
     }
 }
\ No newline at end of file
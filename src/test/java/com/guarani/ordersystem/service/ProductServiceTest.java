@@ -1,23 +1,45 @@
 package com.guarani.ordersystem.service;
 
+import com.guarani.ordersystem.dto.BulkStockUpdateRequest;
+import com.guarani.ordersystem.dto.BulkStockUpdateResponse;
 import com.guarani.ordersystem.dto.ProductRequest;
 import com.guarani.ordersystem.dto.ProductResponse;
 import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import com.guarani.ordersystem.event.ProductChangedEvent;
+import com.guarani.ordersystem.exception.BusinessException;
 import com.guarani.ordersystem.exception.ResourceNotFoundException;
 import com.guarani.ordersystem.repository.ProductRepository;
+import com.guarani.ordersystem.repository.ProductRepository.ProductSearchHit;
+import com.guarani.ordersystem.repository.ProductRepository.StockLevel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +52,24 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private StockMovementRecorder stockMovementRecorder;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LowStockTracker lowStockTracker;
+
     @InjectMocks
     private ProductService productService;
 
@@ -101,21 +141,22 @@ class ProductServiceTest {
         assertEquals("New Product", result.getName());
         assertEquals(BigDecimal.valueOf(149.99), result.getPrice());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
     void findAll_ShouldReturnPageOfProducts() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Product product = Product.builder()
+        ProductResponse product = ProductResponse.builder()
                 .id(1L)
                 .name("Test Product")
                 .price(BigDecimal.valueOf(99.99))
                 .category("ELETRONICOS")
                 .build();
 
-        Page<Product> productPage = new PageImpl<>(List.of(product));
-        when(productRepository.findAll(pageable)).thenReturn(productPage);
+        Page<ProductResponse> productPage = new PageImpl<>(List.of(product));
+        when(productRepository.findAllResponses(pageable)).thenReturn(productPage);
 
         // Act
         Page<ProductResponse> result = productService.findAll(pageable);
@@ -124,14 +165,15 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("Test Product", result.getContent().get(0).getName());
-        verify(productRepository, times(1)).findAll(pageable);
+        verify(productRepository, times(1)).findAllResponses(pageable);
+        verify(productRepository, never()).findAll(pageable);
     }
 
     @Test
     void searchProducts_ShouldReturnFilteredProducts() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Product product = Product.builder()
+        ProductResponse product = ProductResponse.builder()
                 .id(1L)
                 .name("Test Product")
                 .price(BigDecimal.valueOf(99.99))
@@ -139,8 +181,9 @@ class ProductServiceTest {
                 .active(true)
                 .build();
 
-        Page<Product> productPage = new PageImpl<>(List.of(product));
-        when(productRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(productPage);
+        Page<ProductResponse> productPage = new PageImpl<>(List.of(product));
+        when(productRepository.searchResponses(anyString(), anyString(), any(), any(), eq(pageable)))
+                .thenReturn(productPage);
 
         // Act
         Page<ProductResponse> result = productService.searchProducts(
@@ -149,7 +192,42 @@ class ProductServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(productRepository, times(1)).findAll(any(Specification.class), eq(pageable));
+        verify(productRepository, times(1)).searchResponses(
+                "%test%", "eletronicos", BigDecimal.valueOf(50), BigDecimal.valueOf(100), pageable);
+    }
+
+    @Test
+    void searchProducts_ShouldUseFullTextSearch_WhenEnabledAndNameGiven() {
+        // Arrange
+        ReflectionTestUtils.setField(productService, "fullTextSearchEnabled", true);
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("name"));
+        ProductSearchHit hit = mock(ProductSearchHit.class);
+        when(hit.getId()).thenReturn(1L);
+        when(hit.getName()).thenReturn("Notebook Dell");
+        when(productRepository.fullTextSearch(eq("notbook"), eq("informatica"), isNull(), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(hit)));
+
+        // Act
+        Page<ProductResponse> result = productService.searchProducts(" notbook ", "INFORMATICA", null, null, pageable);
+
+        // Assert
+        assertEquals("Notebook Dell", result.getContent().get(0).getName());
+        verify(productRepository).fullTextSearch("notbook", "informatica", null, null, PageRequest.of(1, 10));
+        verify(productRepository, never()).searchResponses(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchProducts_ShouldPassNullFilters_WhenParametersAreBlank() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.searchResponses(any(), any(), any(), any(), eq(pageable)))
+                .thenReturn(Page.empty());
+
+        // Act
+        productService.searchProducts(" ", "", null, null, pageable);
+
+        // Assert
+        verify(productRepository, times(1)).searchResponses(null, null, null, null, pageable);
     }
 
     @Test
@@ -163,14 +241,230 @@ class ProductServiceTest {
                 .build();
 
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         // Act
         productService.delete(productId);
 
         // Assert
         verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
         assertFalse(product.getActive()); // Product should be deactivated
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateStockBatch_ShouldDecreaseStockAtomicallyAndRecordMovements() {
+        // Arrange
+        StockLevel level1 = mock(StockLevel.class);
+        when(level1.getId()).thenReturn(1L);
+        when(level1.getStockQuantity()).thenReturn(7);
+        when(level1.getVersion()).thenReturn(1L);
+        StockLevel level2 = mock(StockLevel.class);
+        when(level2.getId()).thenReturn(2L);
+        when(level2.getStockQuantity()).thenReturn(0);
+        when(level2.getVersion()).thenReturn(1L);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 1}});
+        when(productRepository.findStockLevels(anyCollection())).thenReturn(List.of(level1, level2));
+        when(cacheManager.getCache("products")).thenReturn(cache);
+
+        // Act
+        productService.updateStockBatch(Map.of(1L, 3, 2L, 5), StockMovementType.SAIDA, "Venda - Pedido 1");
+
+        // Assert: um único lote JDBC com as duas saídas, sem UPDATE por produto
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE products"), argThat(writes -> writes.size() == 2),
+                anyInt(), any());
+        verifyNoMoreInteractions(jdbcTemplate);
+        verify(productRepository, never()).findById(anyLong());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(stockMovementRecorder).record(argThat(movements -> movements.size() == 2
+                && movements.stream().allMatch(m -> m.previousStock() - m.newStock() == m.quantity())));
+        verify(cache).evict(1L);
+        verify(cache).evict(2L);
+    }
+
+    @Test
+    void updateStockBatch_ShouldUpdateEachProductOnce_AndRecordOneMovementPerGroup() {
+        // Arrange: dois pedidos do mesmo produto, estoque final 4
+        StockLevel level = mock(StockLevel.class);
+        when(level.getId()).thenReturn(1L);
+        when(level.getStockQuantity()).thenReturn(4);
+        when(level.getVersion()).thenReturn(2L);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1}});
+        when(productRepository.findStockLevels(anyCollection())).thenReturn(List.of(level));
+        when(cacheManager.getCache("products")).thenReturn(cache);
+
+        // Act
+        productService.updateStockBatch(List.of(
+                new ProductService.StockMovementGroup("Venda - Pedido 1", Map.of(1L, 2)),
+                new ProductService.StockMovementGroup("Venda - Pedido 2", Map.of(1L, 3))), StockMovementType.SAIDA);
+
+        // Assert: uma saída de 5 no banco e o histórico encadeado pedido a pedido (9 -> 7 -> 4)
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE products"), argThat(writes -> writes.size() == 1),
+                anyInt(), any());
+        verify(stockMovementRecorder).record(argThat(movements -> movements.size() == 2
+                && movements.get(0).reason().equals("Venda - Pedido 1")
+                && movements.get(0).previousStock() == 9 && movements.get(0).newStock() == 7
+                && movements.get(1).reason().equals("Venda - Pedido 2")
+                && movements.get(1).previousStock() == 7 && movements.get(1).newStock() == 4));
+        verify(cache).evict(1L);
+    }
+
+    @Test
+    void updateStockBatch_ShouldLockRowsInIdOrder_AndEvictCacheAfterCommit() {
+        // Arrange: produtos na ordem inversa à dos IDs, como em um pedido [B, A]
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(2L, 1);
+        quantities.put(1L, 1);
+
+        StockLevel level1 = mock(StockLevel.class);
+        when(level1.getId()).thenReturn(1L);
+        when(level1.getStockQuantity()).thenReturn(4);
+        when(level1.getVersion()).thenReturn(1L);
+        StockLevel level2 = mock(StockLevel.class);
+        when(level2.getId()).thenReturn(2L);
+        when(level2.getStockQuantity()).thenReturn(9);
+        when(level2.getVersion()).thenReturn(1L);
+
+        List<Long> batchedIds = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<?> writes = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            PreparedStatement ps = mock(PreparedStatement.class);
+            for (Object write : writes) {
+                setter.setValues(ps, write);
+            }
+            ArgumentCaptor<Long> ids = ArgumentCaptor.forClass(Long.class);
+            verify(ps, times(writes.size())).setLong(eq(3), ids.capture());
+            batchedIds.addAll(ids.getAllValues());
+            return new int[][]{{1, 1}};
+        });
+        when(productRepository.findStockLevels(anyCollection())).thenReturn(List.of(level1, level2));
+        when(cacheManager.getCache("products")).thenReturn(cache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            productService.updateStockBatch(quantities, StockMovementType.SAIDA, "Venda - Pedido 1");
+
+            // Assert: linhas do lote em ordem crescente de ID; o cache só é invalidado no commit
+            assertEquals(List.of(1L, 2L), batchedIds);
+            verify(cache, never()).evict(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(cache).evict(1L);
+            verify(cache).evict(2L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateStock_ShouldThrowException_WhenConditionalDecrementFails() {
+        // Arrange
+        StockLevel level = mock(StockLevel.class);
+        when(level.getId()).thenReturn(1L);
+        when(level.getStockQuantity()).thenReturn(2);
+        when(level.getVersion()).thenReturn(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{0}});
+        when(productRepository.findStockLevels(anyCollection())).thenReturn(List.of(level));
+
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> productService.updateStock(1L, 5, StockMovementType.SAIDA, "Venda"));
+        verify(stockMovementRecorder, never()).record(any());
+    }
+
+    @Test
+    void updateStock_ShouldTakePreviousStockOfAdjustmentFromLockedRow() {
+        // Arrange
+        Product product = new Product();
+        product.setId(1L);
+        product.setName("Mouse Logitech");
+        product.setStockQuantity(12);
+        product.setActive(true);
+
+        StockLevel locked = mock(StockLevel.class);
+        when(locked.getId()).thenReturn(1L);
+        when(locked.getStockQuantity()).thenReturn(12);
+        when(locked.getVersion()).thenReturn(1L);
+        StockLevel after = mock(StockLevel.class);
+        when(after.getId()).thenReturn(1L);
+        when(after.getStockQuantity()).thenReturn(30);
+        when(after.getVersion()).thenReturn(2L);
+
+        when(productRepository.lockStockLevels(anyCollection())).thenReturn(List.of(locked));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1}});
+        when(productRepository.findStockLevels(anyCollection())).thenReturn(List.of(after));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // Act
+        ProductResponse result = productService.updateStock(1L, 30, StockMovementType.AJUSTE, "Inventário");
+
+        // Assert: a linha é bloqueada antes do UPDATE, e o anterior registrado é o lido sob o bloqueio
+        assertEquals(30, result.getStockQuantity());
+        assertEquals(2L, result.getVersion());
+        InOrder inOrder = inOrder(productRepository, jdbcTemplate);
+        inOrder.verify(productRepository).lockStockLevels(anyCollection());
+        inOrder.verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        verify(stockMovementRecorder).record(argThat(movements -> movements.size() == 1
+                && movements.get(0).previousStock() == 12 && movements.get(0).newStock() == 30));
+    }
+
+    @Test
+    void updateStockBulk_ShouldApplyBatchedUpdates_AndReportRejectedItems() {
+        // Arrange: produto 3 não existe e a saída do produto 2 excede o estoque
+        List<BulkStockUpdateRequest.StockUpdateItem> items = List.of(
+                new BulkStockUpdateRequest.StockUpdateItem(1L, StockMovementType.AJUSTE, 40, "Inventário"),
+                new BulkStockUpdateRequest.StockUpdateItem(2L, StockMovementType.SAIDA, 9, "Inventário"),
+                new BulkStockUpdateRequest.StockUpdateItem(3L, StockMovementType.ENTRADA, 1, "Inventário"));
+
+        StockLevel before1 = mock(StockLevel.class);
+        when(before1.getId()).thenReturn(1L);
+        when(before1.getStockQuantity()).thenReturn(12);
+        when(before1.getVersion()).thenReturn(1L);
+        StockLevel before2 = mock(StockLevel.class);
+        when(before2.getId()).thenReturn(2L);
+        when(before2.getStockQuantity()).thenReturn(5);
+        when(before2.getVersion()).thenReturn(1L);
+        StockLevel after1 = mock(StockLevel.class);
+        when(after1.getId()).thenReturn(1L);
+        when(after1.getStockQuantity()).thenReturn(40);
+        when(after1.getVersion()).thenReturn(1L);
+
+        when(productRepository.lockStockLevels(anyCollection())).thenReturn(List.of(before1, before2));
+        when(productRepository.findStockLevels(anyCollection())).thenReturn(List.of(after1));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 0}});
+        when(cacheManager.getCache("products")).thenReturn(cache);
+
+        // Act
+        BulkStockUpdateResponse result = productService.updateStockBulk(items);
+
+        // Assert
+        assertEquals(3, result.getTotal());
+        assertEquals(1, result.getUpdated());
+        assertEquals(List.of(3L, 2L), result.getFailures().stream()
+                .map(BulkStockUpdateResponse.StockUpdateFailure::getProductId).toList());
+        verify(stockMovementRecorder).record(argThat(movements -> movements.size() == 1
+                && movements.get(0).previousStock() == 12 && movements.get(0).newStock() == 40));
+        verify(cache).evict(1L);
+        verify(cache, never()).evict(2L);
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void updateStockBulk_ShouldRejectRepeatedProducts() {
+        List<BulkStockUpdateRequest.StockUpdateItem> items = List.of(
+                new BulkStockUpdateRequest.StockUpdateItem(1L, StockMovementType.ENTRADA, 1, null),
+                new BulkStockUpdateRequest.StockUpdateItem(1L, StockMovementType.SAIDA, 1, null));
+
+        assertThrows(BusinessException.class, () -> productService.updateStockBulk(items));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,201 @@
+package com.guarani.ordersystem.service;
+
+import com.guarani.ordersystem.dto.CategorySalesResponse;
+import com.guarani.ordersystem.dto.DailySalesResponse;
+import com.guarani.ordersystem.dto.OrderResponse;
+import com.guarani.ordersystem.dto.PaymentMethodSalesResponse;
+import com.guarani.ordersystem.dto.SalesReportResponse;
+import com.guarani.ordersystem.entity.Order;
+import com.guarani.ordersystem.entity.OrderItem;
+import com.guarani.ordersystem.entity.Product;
+import com.guarani.ordersystem.entity.User;
+import com.guarani.ordersystem.entity.enums.OrderStatus;
+import com.guarani.ordersystem.entity.enums.PaymentMethod;
+import com.guarani.ordersystem.entity.enums.PaymentStatus;
+import com.guarani.ordersystem.event.OrderCancelledEvent;
+import com.guarani.ordersystem.event.OrderCreatedEvent;
+import com.guarani.ordersystem.event.PaymentApprovedEvent;
+import com.guarani.ordersystem.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.AfterTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({SalesAnalyticsService.class, SalesRollupRecorder.class})
+@TestPropertySource(properties = {
+        "spring.test.database.replace=NONE",
+        "spring.datasource.url=jdbc:h2:mem:testdb"
+})
+class SalesAnalyticsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private SalesRollupRecorder salesRollupRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private User user;
+    private Product mouse;
+    private Product notebook;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Cliente");
+        user.setEmail("cliente@email.com");
+        user.setPassword("password123");
+        user.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(user);
+
+        mouse = product("Mouse", "PERIFERICOS", 50);
+        notebook = product("Notebook", "INFORMATICA", 3000);
+    }
+
+    // Os deltas são gravados em transação própria e sobrevivem ao rollback do teste
+    @AfterTransaction
+    void deleteStagedDeltas() {
+        jdbcTemplate.update("DELETE FROM sales_rollup_deltas");
+    }
+
+    @Test
+    void rollups_ShouldMatchRebuildFromOrders_AfterCreateCancelAndPayment() {
+        // Arrange: pedido pago hoje, pedido cancelado hoje e pedido pendente de ontem
+        Order paid = order(today.atTime(10, 0), OrderStatus.CONFIRMED, item(mouse, 2));
+        paid.setPaymentStatus(PaymentStatus.APPROVED);
+        paid.setPaymentMethod(PaymentMethod.PIX);
+        paid.setPaymentDate(today.atTime(10, 5));
+        Order cancelled = order(today.atTime(11, 0), OrderStatus.CANCELLED, item(notebook, 1));
+        Order pending = order(today.minusDays(1).atTime(9, 0), OrderStatus.PENDING, item(mouse, 1), item(notebook, 1));
+        entityManager.flush();
+
+        // Act: mesmos eventos que OrderService publica, agregados e gravados incrementalmente
+        salesRollupRecorder.onOrderCreated(new OrderCreatedEvent(response(paid)));
+        salesRollupRecorder.onOrderCreated(new OrderCreatedEvent(response(cancelled)));
+        salesRollupRecorder.onOrderCreated(new OrderCreatedEvent(response(pending)));
+        salesRollupRecorder.onPaymentApproved(new PaymentApprovedEvent(response(paid)));
+        salesRollupRecorder.onOrderCancelled(new OrderCancelledEvent(response(cancelled)));
+        salesRollupRecorder.flush();
+        SalesReportResponse incremental = salesAnalyticsService.getReport(today.minusDays(1), today);
+
+        // Assert
+        assertEquals(3L, incremental.getOrdersCount());
+        assertEquals(1L, incremental.getCancelledCount());
+        assertEquals(0, BigDecimal.valueOf(6150).compareTo(incremental.getGrossAmount()));
+        assertEquals(0, BigDecimal.valueOf(3150).compareTo(incremental.getNetAmount()));
+        assertEquals(0, BigDecimal.valueOf(1575).compareTo(incremental.getAverageTicket()));
+        assertEquals(List.of(today.minusDays(1), today),
+                incremental.getDaily().stream().map(DailySalesResponse::getDate).toList());
+
+        CategorySalesResponse informatica = incremental.getCategories().get(0);
+        assertEquals("INFORMATICA", informatica.getCategory());
+        assertEquals(1L, informatica.getItemsQuantity());
+        CategorySalesResponse perifericos = incremental.getCategories().get(1);
+        assertEquals(3L, perifericos.getItemsQuantity());
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(perifericos.getAmount()));
+
+        PaymentMethodSalesResponse pix = incremental.getPaymentMethods().get(0);
+        assertEquals("PIX", pix.getPaymentMethod());
+        assertEquals(1L, pix.getApprovedCount());
+
+        // O recálculo a partir dos pedidos chega ao mesmo relatório
+        entityManager.clear();
+        SalesReportResponse rebuilt = salesAnalyticsService.rebuild(today.minusDays(1), today);
+        assertEquals(incremental, rebuilt);
+    }
+
+    @Test
+    void rebuild_ShouldDiscardUnappliedDeltasItAlreadyCovers() {
+        // Arrange: delta gravado pelo pedido, ainda não aplicado aos agregados
+        Order created = order(today.atTime(14, 0), OrderStatus.PENDING, item(mouse, 1));
+        entityManager.flush();
+        salesRollupRecorder.onOrderCreated(new OrderCreatedEvent(response(created)));
+
+        // Act
+        SalesReportResponse rebuilt = salesAnalyticsService.rebuild(today, today);
+        salesRollupRecorder.flush();
+        SalesReportResponse afterFlush = salesAnalyticsService.getReport(today, today);
+
+        // Assert: o pedido é contado uma vez, pelo recálculo, e não de novo pelo delta
+        assertEquals(1L, rebuilt.getOrdersCount());
+        assertEquals(1L, afterFlush.getOrdersCount());
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(afterFlush.getGrossAmount()));
+    }
+
+    @Test
+    void getReport_ShouldRejectInvertedOrTooLongPeriods() {
+        assertThrows(BusinessException.class, () -> salesAnalyticsService.getReport(today, today.minusDays(1)));
+        assertThrows(BusinessException.class, () -> salesAnalyticsService.getReport(today.minusDays(400), today));
+    }
+
+    private Product product(String name, String category, int price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(BigDecimal.valueOf(price));
+        product.setCategory(category);
+        product.setStockQuantity(100);
+        product.setActive(true);
+        product.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(product);
+        return product;
+    }
+
+    private static OrderItem item(Product product, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        return item;
+    }
+
+    private Order order(LocalDateTime createdAt, OrderStatus status, OrderItem... items) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        for (OrderItem item : items) {
+            order.addItem(item);
+        }
+        return entityManager.persist(order);
+    }
+
+    private static OrderResponse response(Order order) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .paymentMethod(order.getPaymentMethod())
+                .paymentStatus(order.getPaymentStatus())
+                .paymentDate(order.getPaymentDate())
+                .createdAt(order.getCreatedAt())
+                .items(order.getItems().stream()
+                        .map(item -> OrderResponse.OrderItemResponse.builder()
+                                .productId(item.getProduct().getId())
+                                .category(item.getProduct().getCategory())
+                                .quantity(item.getQuantity())
+                                .unitPrice(item.getUnitPrice())
+                                .totalPrice(item.getTotalPrice())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.guarani.ordersystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.guarani.ordersystem.entity.enums.StockMovementType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockMovementRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private StockMovementRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new StockMovementRecorder(jdbcTemplate, objectMapper, transactionManager);
+        ReflectionTestUtils.setField(recorder, "batchSize", 2);
+    }
+
+    @Test
+    void record_ShouldStageAllMovementsInOneOutboxRow() throws Exception {
+        // Arrange
+        List<StockMovementRecorder.Movement> movements = movements(0, 3);
+
+        // Act
+        recorder.record(movements);
+
+        // Assert
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO stock_movement_outbox"), payload.capture(), any());
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertEquals(movements, List.of(objectMapper.readValue((String) payload.getValue(),
+                StockMovementRecorder.Movement[].class)));
+    }
+
+    @Test
+    void record_ShouldNotTouchDatabase_WhenThereAreNoMovements() {
+        // Act
+        recorder.record(List.of());
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void copyBatch_ShouldInsertClaimedMovementsIntoStockMovements_AndDeleteClaimedRows() throws Exception {
+        // Arrange
+        List<StockMovementRecorder.Movement> first = movements(0, 2);
+        List<StockMovementRecorder.Movement> second = movements(2, 1);
+        stubClaim(List.of(1L, 2L), List.of(first, second));
+        List<StockMovementRecorder.Movement> all = new ArrayList<>(first);
+        all.addAll(second);
+
+        // Act
+        int copied = recorder.copyBatch();
+
+        // Assert
+        assertEquals(2, copied);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO stock_movements"), eq(all), eq(2), any());
+        verify(jdbcTemplate).update(startsWith("DELETE FROM stock_movement_outbox"), eq(1L), eq(2L));
+    }
+
+    @Test
+    void copyBatch_ShouldNotWrite_WhenOutboxIsEmpty() throws Exception {
+        // Arrange
+        stubClaim(List.of(), List.of());
+
+        // Act
+        int copied = recorder.copyBatch();
+
+        // Assert
+        assertEquals(0, copied);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void flush_ShouldKeepRowsInOutbox_WhenCopyFails() {
+        // Arrange
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(jdbcTemplate).query(startsWith("SELECT id, payload FROM stock_movement_outbox"),
+                        any(RowCallbackHandler.class), any(Object[].class));
+
+        // Act
+        assertDoesNotThrow(() -> recorder.flush());
+
+        // Assert
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+        verify(transactionManager).rollback(any());
+    }
+
+    private void stubClaim(List<Long> ids, List<List<StockMovementRecorder.Movement>> payloads) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < ids.size(); i++) {
+                when(rs.getLong("id")).thenReturn(ids.get(i));
+                when(rs.getString("payload")).thenReturn(objectMapper.writeValueAsString(payloads.get(i)));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, payload FROM stock_movement_outbox"),
+                any(RowCallbackHandler.class), eq(2));
+    }
+
+    private static List<StockMovementRecorder.Movement> movements(int firstProductId, int count) {
+        LocalDateTime movementDate = LocalDateTime.of(2024, 1, 15, 10, 30);
+        return IntStream.range(firstProductId, firstProductId + count)
+                .mapToObj(i -> new StockMovementRecorder.Movement((long) i, StockMovementType.SAIDA, 1,
+                        10, 9, "Venda - Pedido " + i, movementDate, "cliente@email.com"))
+                .toList();
+    }
+}
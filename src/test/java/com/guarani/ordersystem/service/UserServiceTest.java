@@ -11,11 +11,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,6 +39,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
     @InjectMocks
     private UserService userService;
 
@@ -183,6 +193,7 @@ class UserServiceTest {
         Set<Role> newRoles = Set.of(Role.CLIENT, Role.OPERATOR);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache("principals")).thenReturn(cache);
 
         // Act
         UserResponse result = userService.updateUserRoles(1L, List.copyOf(newRoles));
@@ -196,6 +207,28 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(cache, times(1)).evict("john@email.com");
+    }
+
+    @Test
+    void updateUserRoles_ShouldEvictPrincipalOnlyAfterCommit() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache("principals")).thenReturn(cache);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            userService.updateUserRoles(1L, List.of(Role.CLIENT));
+
+            // Assert: antes do commit o principal com as roles antigas continua em cache
+            verify(cache, never()).evict(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(cache, times(1)).evict("john@email.com");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -214,24 +247,26 @@ class UserServiceTest {
     @Test
     void deleteUser_ShouldDeleteUser_WhenUserExists() {
         // Arrange
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cacheManager.getCache("principals")).thenReturn(cache);
 
         // Act
         userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository, times(1)).existsById(1L);
+        verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(cache, times(1)).evict("john@email.com");
     }
 
     @Test
     void deleteUser_ShouldThrowException_WhenUserNotFound() {
         // Arrange
-        when(userRepository.existsById(999L)).thenReturn(false);
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(999L));
-        verify(userRepository, times(1)).existsById(999L);
+        verify(userRepository, times(1)).findById(999L);
         verify(userRepository, never()).deleteById(anyLong());
     }
 
@@ -399,6 +434,7 @@ class UserServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(userWithRoles));
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache("principals")).thenReturn(cache);
 
         // Act
         UserResponse result = userService.updateUserRoles(1L, List.copyOf(newRoles));